@@ -0,0 +1,74 @@
+package simplifier;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+// One benchmark function with the size of its known minimum cover.
+// Stored one per line as "<name>\t<optimal terms>\t<function spec>", where the spec uses the FunctionSpec
+// text form; lines starting with # are comments.
+// @param name a unique name describing the family and parameters
+// @param optimal the number of terms in a minimum cover
+// @param function the function
+public record CorpusEntry(String name, int optimal, FunctionSpec function) {
+
+// @return the entry as one corpus line
+    public String toLine() {
+        return name + "\t" + optimal + "\t" + function;
+    }
+
+// Parses one corpus line.
+// @throws IllegalArgumentException if the line is malformed
+    public static CorpusEntry parse(String line) {
+        String[] fields = line.split("\t");
+        if (fields.length != 3) {
+            throw new IllegalArgumentException("Expected 3 tab-separated fields: " + line);
+        }
+        return new CorpusEntry(fields[0], Integer.parseInt(fields[1]), FunctionSpec.parse(fields[2]));
+    }
+
+// Reads all entries of a corpus file, or of every .tsv file in a corpus directory.
+    public static List<CorpusEntry> read(Path path) throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (Files.isDirectory(path)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(path, "*.tsv")) {
+                stream.forEach(files::add);
+            }
+            Collections.sort(files);
+        } else {
+            files.add(path);
+        }
+
+        List<CorpusEntry> entries = new ArrayList<>();
+        for (Path file : files) {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank() || line.startsWith("#")) continue;
+                    entries.add(parse(line));
+                }
+            }
+        }
+        return entries;
+    }
+
+// Checks a cover against this entry.
+// @param cover the terms returned by a simplifier
+// @return null if the cover is exact and minimum, otherwise a description of the problem
+    public String verify(List<Term> cover) {
+        Set<Integer> onSet = new HashSet<>(function.getMinterms());
+        Set<Integer> dontCares = new HashSet<>(function.getDontCares());
+        for (int m : onSet) {
+            if (cover.stream().noneMatch(t -> t.covers(m))) return "minterm " + m + " is not covered";
+        }
+        for (Term t : cover) {
+            if (t.getWidth() != function.getNumVariables()) return "term " + t.getBinary() + " has the wrong width";
+            for (int m : t.getMinterms()) {
+                if (!onSet.contains(m) && !dontCares.contains(m)) return "term " + t.getBinary() + " covers " + m;
+            }
+        }
+        if (cover.size() != optimal) return cover.size() + " terms instead of " + optimal;
+        return null;
+    }
+}
@@ -0,0 +1,188 @@
+package simplifier;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+// Writes a reproducible benchmark corpus with the minimum cover size of every function.
+// Families (one .tsv file each):
+// - random:    random on-sets at a given density; the optimum is computed by exact QM with branch-and-bound cover;
+// - parity:    odd parity, where no two minterms combine, so the optimum is 2^(n-1);
+// - threshold: "at least k of n inputs", including majority; the primes are the C(n,k) products of k
+//              variables and each is essential, so the optimum is C(n,k);
+// - cyclic:    copies of the cyclic core (0,1,2,5,6,7) of three variables, placed on even-parity codes of the
+//              remaining variables so copies never combine; each copy needs 3 terms;
+// - planted:   random cubes pairwise at distance 2 or more; no cube of the union can span two of them,
+//              so the planted cubes are the primes, all essential, and the optimum is their number.
+//
+// Usage: CorpusGenerator <output directory> [--seed 1] [--count 5]
+public class CorpusGenerator {
+
+    // Branch-and-bound nodes the exact search of one random function may explore
+    private static final int EXACT_SEARCH_NODES = 10_000;
+
+    private final Random random;
+    private final int count;
+
+    CorpusGenerator(long seed, int count) {
+        this.random = new Random(seed);
+        this.count = count;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: CorpusGenerator <output directory> [--seed 1] [--count 5]");
+            return;
+        }
+        long seed = 1;
+        int count = 5;
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--seed" -> seed = Long.parseLong(args[i + 1]);
+                case "--count" -> count = Integer.parseInt(args[i + 1]);
+                default -> {
+                    System.out.println("Unknown option: " + args[i]);
+                    return;
+                }
+            }
+        }
+
+        Path directory = Paths.get(args[0]);
+        Files.createDirectories(directory);
+        CorpusGenerator generator = new CorpusGenerator(seed, count);
+        generator.write(directory.resolve("random.tsv"), generator.randomFunctions());
+        generator.write(directory.resolve("parity.tsv"), generator.parityFunctions());
+        generator.write(directory.resolve("threshold.tsv"), generator.thresholdFunctions());
+        generator.write(directory.resolve("cyclic.tsv"), generator.cyclicFunctions());
+        generator.write(directory.resolve("planted.tsv"), generator.plantedFunctions());
+    }
+
+    private void write(Path file, List<CorpusEntry> entries) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# name\toptimal terms\tfunction");
+            writer.newLine();
+            for (CorpusEntry entry : entries) {
+                writer.write(entry.toLine());
+                writer.newLine();
+            }
+        }
+        System.out.println(file + ": " + entries.size() + " functions");
+    }
+
+// Random functions of 4 to 10 variables, solved exactly. Above 7 variables only densities up to 30% are used,
+// since denser charts become cyclic enough to take seconds or minutes per function in the exact search.
+// The search is also limited to EXACT_SEARCH_NODES branch-and-bound nodes per function; a function whose
+// optimum is not proven within them is left out. A node limit, unlike a time limit, keeps the corpus the same
+// on every machine.
+    List<CorpusEntry> randomFunctions() {
+        List<CorpusEntry> entries = new ArrayList<>();
+        QuineMcCluskeySimplifier exact = new QuineMcCluskeySimplifier();
+        exact.setCoverStrategy(CoverStrategy.BRANCH_AND_BOUND);
+        SimplificationBudget budget = SimplificationBudget.UNLIMITED.withMaxFrontier(EXACT_SEARCH_NODES);
+
+        for (int n = 4; n <= 10; n++) {
+            int maxDensity = n <= 7 ? 90 : 30;
+            for (int density = 10; density <= maxDensity; density += 20) {
+                for (int i = 0; i < count; i++) {
+                    List<Integer> minterms = SimplifierBenchmark.randomFunction(n, density, random);
+                    FunctionSpec function = new FunctionSpec(n, minterms, List.of());
+                    SimplificationResult result = exact.simplifyWithBudget(function, budget);
+                    if (result.status() != SimplificationStatus.OPTIMAL) continue;
+                    entries.add(new CorpusEntry("random-" + n + "-" + density + "-" + i, result.terms().size(), function));
+                }
+            }
+        }
+        return entries;
+    }
+
+// Odd parity of 2 to 12 variables.
+    List<CorpusEntry> parityFunctions() {
+        List<CorpusEntry> entries = new ArrayList<>();
+        for (int n = 2; n <= 12; n++) {
+            List<Integer> minterms = new ArrayList<>();
+            for (int m = 0; m < 1 << n; m++) {
+                if (Integer.bitCount(m) % 2 == 1) minterms.add(m);
+            }
+            entries.add(new CorpusEntry("parity-" + n, 1 << (n - 1), new FunctionSpec(n, minterms, List.of())));
+        }
+        return entries;
+    }
+
+// Threshold functions "at least k of n" for 3 to 12 variables; k = n / 2 + 1 is majority.
+    List<CorpusEntry> thresholdFunctions() {
+        List<CorpusEntry> entries = new ArrayList<>();
+        for (int n = 3; n <= 12; n++) {
+            for (int k = 1; k <= n; k++) {
+                List<Integer> minterms = new ArrayList<>();
+                for (int m = 0; m < 1 << n; m++) {
+                    if (Integer.bitCount(m) >= k) minterms.add(m);
+                }
+                String name = (k == n / 2 + 1 ? "majority-" : "threshold-") + k + "-of-" + n;
+                entries.add(new CorpusEntry(name, (int) binomial(n, k), new FunctionSpec(n, minterms, List.of())));
+            }
+        }
+        return entries;
+    }
+
+// Cyclic cores of 3 variables copied onto even-parity codes of 0 to 7 extra variables.
+    List<CorpusEntry> cyclicFunctions() {
+        int[] core = {0, 1, 2, 5, 6, 7};
+        List<CorpusEntry> entries = new ArrayList<>();
+        for (int extra = 0; extra <= 7; extra++) {
+            List<Integer> minterms = new ArrayList<>();
+            int copies = 0;
+            for (int code = 0; code < 1 << extra; code++) {
+                if (Integer.bitCount(code) % 2 != 0) continue;
+                copies++;
+                for (int m : core) minterms.add(code << 3 | m);
+            }
+            int n = extra + 3;
+            entries.add(new CorpusEntry("cyclic-" + n, 3 * copies, new FunctionSpec(n, minterms, List.of())));
+        }
+        return entries;
+    }
+
+// Planted covers of 6 to 20 variables with up to 24 cubes of at most 6 free variables.
+    List<CorpusEntry> plantedFunctions() {
+        List<CorpusEntry> entries = new ArrayList<>();
+        for (int n = 6; n <= 20; n += 2) {
+            for (int i = 0; i < count; i++) {
+                List<Term> cubes = plantCubes(n, 4 + random.nextInt(21), Math.min(6, n / 2));
+                Set<Integer> minterms = new TreeSet<>();
+                for (Term cube : cubes) minterms.addAll(cube.getMinterms());
+                FunctionSpec function = new FunctionSpec(n, new ArrayList<>(minterms), List.of());
+                entries.add(new CorpusEntry("planted-" + n + "-" + i, cubes.size(), function));
+            }
+        }
+        return entries;
+    }
+
+// Picks random cubes that are pairwise at distance 2 or more (they differ in at least two bits fixed in both).
+    private List<Term> plantCubes(int n, int target, int maxFree) {
+        List<Term> cubes = new ArrayList<>();
+        for (int attempt = 0; attempt < target * 50 && cubes.size() < target; attempt++) {
+            long careMask = Term.fullMask(n);
+            int free = random.nextInt(maxFree + 1);
+            for (int j = 0; j < free; j++) careMask &= ~(1L << random.nextInt(n));
+            Term cube = new Term(random.nextLong(), careMask, n);
+
+            boolean separated = true;
+            for (Term other : cubes) {
+                long bothCare = cube.getCareMask() & other.getCareMask();
+                if (Long.bitCount((cube.getValue() ^ other.getValue()) & bothCare) < 2) {
+                    separated = false;
+                    break;
+                }
+            }
+            if (separated) cubes.add(cube);
+        }
+        return cubes;
+    }
+
+    private static long binomial(int n, int k) {
+        long result = 1;
+        for (int i = 1; i <= k; i++) result = result * (n - k + i) / i;
+        return result;
+    }
+}
@@ -0,0 +1,135 @@
+package simplifier;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+
+// Checks and times the whole pipeline on a corpus of functions with known minimum covers (see
+// CorpusGenerator). Every function is simplified end to end and its cover is checked against the recorded
+// minimum, so a faster configuration cannot silently trade away optimality. The stages themselves are
+// measured by the JMH benchmarks in jmh/ (StageBenchmark).
+//
+// Usage: SimplifierBenchmark --corpus <file or directory> [--cover PETRICK_ABSORPTION] [--warmup 5] [--iterations 20]
+//                            [--max-ms 10000]
+// Each call runs with --max-ms as its time limit, and calls that hit it report their status.
+// Bytes per operation come from the thread allocation counter and are shown as - where the JVM lacks it.
+public class SimplifierBenchmark {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private CoverStrategy coverStrategy = CoverStrategy.PETRICK_ABSORPTION;
+    private int warmup = 5;
+    private int iterations = 20;
+    private long maxMillis = 10_000;
+    private Path corpus;
+
+    public static void main(String[] args) {
+        SimplifierBenchmark benchmark = new SimplifierBenchmark();
+        try {
+            benchmark.parseArguments(args);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return;
+        }
+        try {
+            benchmark.runCorpus();
+        } catch (IOException e) {
+            System.out.println("Cannot read corpus: " + e.getMessage());
+        }
+    }
+
+// Simplifies every corpus function, printing its time and any cover that is wrong or larger than the optimum.
+    void runCorpus() throws IOException {
+        List<CorpusEntry> entries = CorpusEntry.read(corpus);
+        QuineMcCluskeySimplifier simplifier = new QuineMcCluskeySimplifier();
+        simplifier.setCoverStrategy(coverStrategy);
+        if (THREADS.isThreadAllocatedMemorySupported()) {
+            THREADS.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            System.out.println("Warning: allocation counters are not supported by this JVM");
+        }
+
+        System.out.printf("%-24s %5s %8s %8s %14s %16s  %s%n",
+                "Function", "Vars", "Optimal", "Found", "ms/op", "bytes/op", "Status");
+        SimplificationBudget budget = SimplificationBudget.ofTimeLimit(Duration.ofMillis(maxMillis));
+        int failures = 0;
+        double totalMillis = 0;
+        for (CorpusEntry entry : entries) {
+            FunctionSpec function = entry.function();
+            SimplificationResult result = simplifier.simplifyWithBudget(function, budget);
+            List<Term> cover = result.terms();
+            String problem = result.hasCover() ? entry.verify(cover) : result.status() + ": " + result.reason();
+            if (problem != null) failures++;
+            if (problem != null && result.status() != SimplificationStatus.OPTIMAL) {
+                problem += " (" + result.status() + ")";
+            }
+
+            Measurement m = measure(() -> simplifier.simplifyWithBudget(function, budget));
+            totalMillis += m.millisPerOp();
+            System.out.printf("%-24s %5d %8d %8d %14.4f %16s  %s%n", entry.name(), function.getNumVariables(),
+                    entry.optimal(), cover.size(), m.millisPerOp(), m.bytesPerOp() < 0 ? "-" : m.bytesPerOp(),
+                    problem == null ? "ok" : problem);
+        }
+        System.out.printf("%d functions, %d failed, %.1f functions/s%n",
+                entries.size(), failures, entries.size() / (totalMillis / 1000));
+    }
+
+// Times an operation: warmup runs first, then measured runs. A single run slower than the limit ends the
+// measurement early.
+// @return the measurement, with -1 bytes per operation if the JVM does not count allocations
+    private Measurement measure(Runnable operation) {
+        for (int i = 0; i < warmup; i++) {
+            long start = System.nanoTime();
+            operation.run();
+            if ((System.nanoTime() - start) / 1_000_000 > maxMillis) break;
+        }
+
+        boolean countBytes = THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled();
+        long nanos = 0;
+        long bytes = 0;
+        int ops = 0;
+        while (ops < iterations) {
+            long allocatedBefore = countBytes ? THREADS.getCurrentThreadAllocatedBytes() : 0;
+            long start = System.nanoTime();
+            operation.run();
+            long elapsed = System.nanoTime() - start;
+            if (countBytes) bytes += THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            nanos += elapsed;
+            ops++;
+            if (elapsed / 1_000_000 > maxMillis) break;
+        }
+        return new Measurement(ops, nanos / 1e6 / ops, countBytes ? bytes / ops : -1);
+    }
+
+// Generates the minterms of a seeded random function with the given on-set density in percent.
+    static List<Integer> randomFunction(int numVariables, int density, Random random) {
+        List<Integer> minterms = new ArrayList<>();
+        for (int m = 0; m < 1 << numVariables; m++) {
+            if (random.nextInt(100) < density) minterms.add(m);
+        }
+        return minterms;
+    }
+
+    private void parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            if (i + 1 >= args.length) throw new IllegalArgumentException("Missing value for " + args[i]);
+            String value = args[++i];
+            switch (args[i - 1]) {
+                case "--cover" -> coverStrategy = CoverStrategy.valueOf(value.toUpperCase());
+                case "--warmup" -> warmup = Integer.parseInt(value);
+                case "--iterations" -> iterations = Math.max(1, Integer.parseInt(value));
+                case "--max-ms" -> maxMillis = Long.parseLong(value);
+                case "--corpus" -> corpus = Paths.get(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i - 1]);
+            }
+        }
+        if (corpus == null) throw new IllegalArgumentException("Missing --corpus <file or directory>");
+    }
+
+// Result of measuring one function.
+    private record Measurement(int operations, double millisPerOp, long bytesPerOp) {
+    }
+}
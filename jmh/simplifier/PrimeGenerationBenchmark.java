@@ -0,0 +1,56 @@
+package simplifier;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+// JMH benchmarks for the stages that scale to 20 variables: binary conversion and prime generation by
+// HashProbeSimplifier, which probes single-bit neighbors instead of comparing bucket pairs.
+// The functions are the ones StageBenchmark uses for the same variable count, density and seed.
+// Pairwise prime generation is left out of this grid: at 20 variables it takes 6 s per operation at 10%
+// density and over 20 s at 50%. Densities stop at 50%: hash probing takes 9 s per operation at 20 variables
+// and 50%, and above that the primes explode (4.2 million and 55 s at 70%).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrimeGenerationBenchmark {
+
+    @Param({"4", "8", "12", "16", "20"})
+    public int numVariables;
+
+    // On-set density in percent
+    @Param({"10", "30", "50"})
+    public int density;
+
+    @Param({"1"})
+    public long seed;
+
+    private HashProbeSimplifier simplifier;
+    private List<Integer> minterms;
+    private final List<Integer> dontCares = List.of();
+    private List<Term> initialTerms;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        minterms = SimplifierBenchmark.randomFunction(numVariables, density,
+                new Random(seed * 31 + numVariables * 101L + density));
+        simplifier = new HashProbeSimplifier();
+        initialTerms = simplifier.toInitialTerms(numVariables, minterms, dontCares);
+    }
+
+    @Benchmark
+    public void binaryConversion(Blackhole blackhole) {
+        blackhole.consume(simplifier.toInitialTerms(numVariables, minterms, dontCares));
+    }
+
+    @Benchmark
+    public void primeImplicants(Blackhole blackhole) {
+        blackhole.consume(simplifier.findPrimeImplicants(initialTerms, new SimplificationMetrics(null),
+                new BudgetTracker(SimplificationBudget.UNLIMITED)));
+    }
+}
@@ -0,0 +1,115 @@
+package simplifier;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+// JMH benchmarks for the stages of the Quine–McCluskey pipeline after binary conversion.
+// Each stage runs on a seeded random function for every combination of variable count and on-set density.
+// Run them with gradle jmh; the gc profiler configured in build.gradle reports the bytes allocated per
+// operation as gc.alloc.rate.norm. Narrow the grid with JMH options, e.g. -p numVariables=8,12.
+// Every result goes to the Blackhole so the JIT cannot drop the work.
+// The grid stops at 12 variables. Chart reduction removes dominated rows and columns pairwise, and at 16
+// variables and 30% density it runs for over 5 minutes, in the setup as well as in the benchmark. Binary
+// conversion and hash-probe prime generation, which do scale, run up to 20 variables in
+// PrimeGenerationBenchmark.
+// Covering grows exponentially with the cyclic core, so covering and simplify run within BUDGET and the setup
+// uses the same bound: on large cores they measure the bounded search and its greedy completion. With it, no
+// operation of the grid takes more than about 2.5 s.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StageBenchmark {
+
+    // Largest number of Petrick products kept between multiplication steps
+    static final SimplificationBudget BUDGET = SimplificationBudget.UNLIMITED.withMaxFrontier(1_000);
+
+    @Param({"4", "8", "12"})
+    public int numVariables;
+
+    // On-set density in percent
+    @Param({"10", "30", "50", "70", "90"})
+    public int density;
+
+    @Param({"PETRICK_ABSORPTION"})
+    public CoverStrategy coverStrategy;
+
+    @Param({"1"})
+    public long seed;
+
+    private QuineMcCluskeySimplifier simplifier;
+    private List<Integer> minterms;
+    private final List<Integer> dontCares = List.of();
+    private List<Term> initialTerms;
+    private List<Term> primes;
+    private Set<Term> nonEssential;
+    private List<Integer> remaining;
+    private Set<Term> coreCandidates;
+    private List<Integer> coreMinterms;
+    private List<Term> result;
+
+// Runs the pipeline once to prepare the input of every stage.
+// Terms are immutable, so the initial terms are built once and shared by every prime generation.
+    @Setup(Level.Trial)
+    public void prepare() {
+        minterms = SimplifierBenchmark.randomFunction(numVariables, density,
+                new Random(seed * 31 + numVariables * 101L + density));
+        simplifier = new QuineMcCluskeySimplifier();
+        simplifier.setCoverStrategy(coverStrategy);
+
+        initialTerms = simplifier.toInitialTerms(numVariables, minterms, dontCares);
+        primes = simplifier.findPrimeImplicants(initialTerms, new SimplificationMetrics(null),
+                new BudgetTracker(SimplificationBudget.UNLIMITED));
+        CoverageChart chart = new CoverageChart(primes, minterms);
+        BitSet essentialColumns = simplifier.findEssentialPrimeImplicants(chart);
+        nonEssential = new HashSet<>(primes);
+        nonEssential.removeAll(chart.toTerms(essentialColumns));
+        remaining = QuineMcCluskeySimplifier.uncoveredMinterms(chart, essentialColumns);
+        ChartReducer reducer = new ChartReducer(nonEssential, remaining);
+        reducer.reduce();
+        coreCandidates = reducer.getRemainingCandidates();
+        coreMinterms = reducer.getRemainingMinterms();
+        result = simplifier.simplifyWithBudget(numVariables, minterms, dontCares, BUDGET).terms();
+    }
+
+    @Benchmark
+    public void primeImplicants(Blackhole blackhole) {
+        blackhole.consume(simplifier.findPrimeImplicants(initialTerms, new SimplificationMetrics(null),
+                new BudgetTracker(SimplificationBudget.UNLIMITED)));
+    }
+
+    @Benchmark
+    public void essentials(Blackhole blackhole) {
+        blackhole.consume(simplifier.findEssentialPrimeImplicants(new CoverageChart(primes, minterms)));
+    }
+
+    @Benchmark
+    public void chartReduction(Blackhole blackhole) {
+        ChartReducer reducer = new ChartReducer(nonEssential, remaining);
+        blackhole.consume(reducer.reduce());
+        blackhole.consume(reducer.getSelected());
+    }
+
+// Covers the cyclic core left by chart reduction; a function without one has nothing to cover.
+    @Benchmark
+    public void covering(Blackhole blackhole) {
+        if (coreMinterms.isEmpty()) return;
+        blackhole.consume(simplifier.coverCore(coreCandidates, coreMinterms, new SimplificationMetrics(null),
+                new BudgetTracker(BUDGET)));
+    }
+
+    @Benchmark
+    public void buildSop(Blackhole blackhole) {
+        blackhole.consume(ExpressionBuilder.buildSOP(result));
+    }
+
+    @Benchmark
+    public void simplify(Blackhole blackhole) {
+        blackhole.consume(simplifier.simplifyWithBudget(numVariables, minterms, dontCares, BUDGET));
+    }
+}
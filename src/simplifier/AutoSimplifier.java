@@ -0,0 +1,237 @@
+package simplifier;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+// Simplifier that picks an engine for each function, so callers need not know whether an input will blow up
+// the exact Quine–McCluskey pipeline.
+// The choice is made from the number of variables, the number of minterms and don't-cares, and the growth
+// of the first combination round, which is counted cheaply as the number of adjacent input pairs:
+// - small functions, and larger ones whose first round grows slowly, are solved exactly, with Petrick's
+//   Method for tiny inputs and branch and bound for the rest;
+// - large functions, and functions whose first round grows fast (dense random functions, whose prime
+//   implicants and cyclic cores explode), go to EspressoSimplifier.
+// An exact run is also limited by a budget; if it runs out while generating prime implicants, the function
+// is handed to the heuristic engine instead.
+// The decision taken for the last call, and why, is kept in getLastDecision().
+// Calls may run concurrently on one instance; the last decision is kept per calling thread.
+public class AutoSimplifier implements Simplifier {
+
+    // Engines the simplifier can dispatch to
+    public enum Engine {
+        EXACT_PETRICK, EXACT_BRANCH_AND_BOUND, HEURISTIC
+    }
+
+// The engine chosen for one call.
+// @param engine the engine that produced the cover
+// @param reason why it was chosen
+    public record Decision(Engine engine, String reason) {
+
+        @Override
+        public String toString() {
+            return engine.name().toLowerCase() + ": " + reason;
+        }
+    }
+
+    // Inputs of at most this many terms are solved exactly whatever their growth
+    private static final int SMALL_FUNCTION_TERMS = 128;
+    // Inputs of at most this many terms are covered with Petrick's Method rather than branch and bound
+    private static final int PETRICK_TERMS = 16;
+
+    private final QuineMcCluskeySimplifier petrick = new QuineMcCluskeySimplifier();
+    private final QuineMcCluskeySimplifier branchAndBound = new QuineMcCluskeySimplifier();
+    private final EspressoSimplifier heuristic = new EspressoSimplifier();
+    private volatile int maxExactTerms = 4096;
+    private volatile double maxGrowth = 2.0;
+    private volatile int maxRoundTerms = 200_000;
+    private volatile Duration exactTimeLimit = Duration.ofSeconds(2);
+    private final ThreadLocal<Decision> lastDecision = new ThreadLocal<>();
+
+    public AutoSimplifier() {
+        petrick.setCoverStrategy(CoverStrategy.PETRICK_ABSORPTION);
+        branchAndBound.setCoverStrategy(CoverStrategy.BRANCH_AND_BOUND);
+    }
+
+// @return the largest number of minterms and don't-cares solved exactly
+    public int getMaxExactTerms() {
+        return maxExactTerms;
+    }
+
+// Sets the largest number of minterms and don't-cares solved exactly.
+// @param maxExactTerms the largest input size (4096 by default)
+    public void setMaxExactTerms(int maxExactTerms) {
+        if (maxExactTerms < 1) {
+            throw new IllegalArgumentException("Term limit must be at least 1: " + maxExactTerms);
+        }
+        this.maxExactTerms = maxExactTerms;
+    }
+
+// @return the largest first-round growth solved exactly, in combined terms per input term
+    public double getMaxGrowth() {
+        return maxGrowth;
+    }
+
+// Sets the largest growth of the first combination round solved exactly.
+// @param maxGrowth combined terms per input term (2.0 by default)
+    public void setMaxGrowth(double maxGrowth) {
+        if (!(maxGrowth > 0)) {
+            throw new IllegalArgumentException("Growth limit must be positive: " + maxGrowth);
+        }
+        this.maxGrowth = maxGrowth;
+    }
+
+// @return the largest number of terms a combination round of an exact run may produce
+    public int getMaxRoundTerms() {
+        return maxRoundTerms;
+    }
+
+// Limits the terms a combination round of an exact run may produce before falling back to the heuristic.
+// @param maxRoundTerms the term budget of each round (200000 by default)
+    public void setMaxRoundTerms(int maxRoundTerms) {
+        if (maxRoundTerms < 1) {
+            throw new IllegalArgumentException("Term budget must be at least 1: " + maxRoundTerms);
+        }
+        this.maxRoundTerms = maxRoundTerms;
+    }
+
+// @return the longest an exact run may take before falling back to the heuristic
+    public Duration getExactTimeLimit() {
+        return exactTimeLimit;
+    }
+
+// Limits the time of an exact run. Past it, prime implicant generation falls back to the heuristic and
+// covering keeps the best cover found so far.
+// @param exactTimeLimit the time limit (2 seconds by default)
+    public void setExactTimeLimit(Duration exactTimeLimit) {
+        if (exactTimeLimit.isNegative() || exactTimeLimit.isZero()) {
+            throw new IllegalArgumentException("Time limit must be positive: " + exactTimeLimit);
+        }
+        this.exactTimeLimit = exactTimeLimit;
+    }
+
+// @return the engine used by the calling thread's last call and why, or null if it has not simplified yet
+    public Decision getLastDecision() {
+        return lastDecision.get();
+    }
+
+// Simplifies a function with the engine chosen for it.
+// The cover is minimal when the decision is exact and the exact run stayed within its budget.
+// @param numVariables the number of variables (1 to 64)
+// @param minterms a list of minterms (e.g., 1, 3, 5, 7)
+// @param dontCares a list of don't-care input combinations (e.g., 2, 6)
+// @return a list of simplified Terms
+// @throws CancellationException if the calling thread is interrupted during an exact run
+    @Override
+    public List<Term> simplify(int numVariables, List<Integer> minterms, List<Integer> dontCares) {
+        return dispatch(choose(numVariables, minterms, dontCares),
+                (exact, budget) -> exact.simplifyWithBudget(numVariables, minterms, dontCares, budget),
+                () -> heuristic.simplify(numVariables, minterms, dontCares));
+    }
+
+// Simplifies a function given as packed truth tables with the engine chosen for it.
+// The tables are passed to the engines as they are, without building minterm lists.
+// @param numVariables the number of variables (1 to TruthTable.MAX_VARIABLES)
+// @param onSet the truth table of the minterms
+// @param dontCares the truth table of the don't-cares
+// @return a list of simplified Terms
+// @throws CancellationException if the calling thread is interrupted during an exact run
+    @Override
+    public List<Term> simplifyTruthTable(int numVariables, long[] onSet, long[] dontCares) {
+        return dispatch(chooseTruthTable(numVariables, onSet, dontCares),
+                (exact, budget) -> exact.simplifyTruthTableWithBudget(numVariables, onSet, dontCares, budget),
+                () -> heuristic.simplifyTruthTable(numVariables, onSet, dontCares));
+    }
+
+// Runs the chosen engine, falling back to the heuristic if the exact run exceeds its budget.
+// @param exactRun runs the given exact pipeline within a budget
+// @param heuristicRun runs the heuristic engine
+    private List<Term> dispatch(Decision decision,
+                                BiFunction<QuineMcCluskeySimplifier, SimplificationBudget, SimplificationResult> exactRun,
+                                Supplier<List<Term>> heuristicRun) {
+        if (decision.engine() == Engine.HEURISTIC) {
+            lastDecision.set(decision);
+            return heuristicRun.get();
+        }
+
+        QuineMcCluskeySimplifier exact = decision.engine() == Engine.EXACT_PETRICK ? petrick : branchAndBound;
+        SimplificationResult result = exactRun.apply(exact,
+                new SimplificationBudget(exactTimeLimit, maxRoundTerms, Integer.MAX_VALUE));
+        switch (result.status()) {
+            case OPTIMAL -> lastDecision.set(decision);
+            case NON_OPTIMAL -> lastDecision.set(new Decision(decision.engine(),
+                    decision.reason() + "; cover not minimal: " + result.reason()));
+            case BUDGET_EXCEEDED -> {
+                lastDecision.set(new Decision(Engine.HEURISTIC, "exact run stopped: " + result.reason()));
+                return heuristicRun.get();
+            }
+            case CANCELLED -> {
+                lastDecision.set(decision);
+                throw new CancellationException(result.reason());
+            }
+        }
+        return result.terms();
+    }
+
+// Chooses the engine for a function without simplifying it.
+// @param numVariables the number of variables (1 to 64)
+// @param minterms a list of minterms
+// @param dontCares a list of don't-care input combinations
+// @return the engine simplify would start with, and why
+// @throws IllegalArgumentException if the variable count or any minterm is out of range
+    public Decision choose(int numVariables, List<Integer> minterms, List<Integer> dontCares) {
+        FunctionSpec.validate(numVariables, minterms, dontCares);
+        Set<Integer> terms = new HashSet<>(minterms);
+        terms.addAll(dontCares);
+        return choose(numVariables, terms.size(), () -> adjacentPairs(numVariables, terms));
+    }
+
+// Chooses the engine for a function given as packed truth tables without simplifying it.
+// @param numVariables the number of variables (1 to TruthTable.MAX_VARIABLES)
+// @param onSet the truth table of the minterms
+// @param dontCares the truth table of the don't-cares
+// @return the engine simplifyTruthTable would start with, and why
+// @throws IllegalArgumentException if the variable count or a table length is out of range
+    public Decision chooseTruthTable(int numVariables, long[] onSet, long[] dontCares) {
+        TruthTable.validate(numVariables, onSet, "on-set");
+        TruthTable.validate(numVariables, dontCares, "don't-care");
+        long[] terms = new long[onSet.length];
+        for (int w = 0; w < terms.length; w++) terms[w] = onSet[w] | dontCares[w];
+        return choose(numVariables, TruthTable.count(terms), () -> TruthTable.adjacentPairs(numVariables, terms));
+    }
+
+// @param size the number of distinct minterms and don't-cares
+// @param pairs counts the terms of the first combination round, only if the size allows an exact run
+    private Decision choose(int numVariables, int size, LongSupplier pairs) {
+        if (size > maxExactTerms) {
+            return new Decision(Engine.HEURISTIC, size + " minterms and don't-cares exceed " + maxExactTerms);
+        }
+        long firstRound = pairs.getAsLong();
+        double growth = size == 0 ? 0 : (double) firstRound / size;
+        String shape = String.format("%d variables, %d terms, first round %d terms (growth %.2f)",
+                numVariables, size, firstRound, growth);
+        if (size > SMALL_FUNCTION_TERMS && growth > maxGrowth) {
+            return new Decision(Engine.HEURISTIC, shape + " exceeds growth " + maxGrowth);
+        }
+        return size <= PETRICK_TERMS ? new Decision(Engine.EXACT_PETRICK, shape)
+                : new Decision(Engine.EXACT_BRANCH_AND_BOUND, shape);
+    }
+
+// Counts the pairs of input terms that differ in one variable, i.e. the terms the first combination round
+// will produce.
+    private static long adjacentPairs(int numVariables, Set<Integer> terms) {
+        // Minterms are non-negative ints, so variables above bit 30 never differ between two of them
+        int bits = Math.min(numVariables, 31);
+        long pairs = 0;
+        for (int t : terms) {
+            for (int b = 0; b < bits; b++) {
+                int neighbor = t ^ (1 << b);
+                if (neighbor > t && terms.contains(neighbor)) pairs++;
+            }
+        }
+        return pairs;
+    }
+}
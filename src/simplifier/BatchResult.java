@@ -0,0 +1,17 @@
+package simplifier;
+
+import java.util.List;
+
+// The outcome of one function of a batch: its cover, or the exception that simplifying it threw.
+// @param index the position of the function in the input, counted from 0
+// @param function the function
+// @param terms the simplified terms, or null if the function failed
+// @param error the exception thrown while simplifying, or null if the function succeeded
+// @param nanos the time spent simplifying the function, in nanoseconds
+public record BatchResult(int index, FunctionSpec function, List<Term> terms, RuntimeException error, long nanos) {
+
+// @return true if the function was simplified
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,198 @@
+package simplifier;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Simplifies many functions concurrently on a shared pool of workers.
+// Each worker thread gets its own simplifier from a factory, so simplifiers that are not thread-safe are never
+// shared between threads; a factory may also return one thread-safe simplifier, such as
+// QuineMcCluskeySimplifier, for every worker.
+// Results are delivered either in input order or as they complete. A function that throws does not stop the
+// batch: its BatchResult carries the exception instead of a cover.
+// At most maxInFlight functions are queued or running at once, so a stream of any length is processed in
+// bounded memory; in input order, a slow function holds back delivery of the ones after it.
+// Throughput counters accumulate over all batches; see getStatistics().
+public class BatchSimplifier implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final ThreadLocal<Simplifier> simplifiers;
+    private int maxInFlight;
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong busyNanos = new AtomicLong();
+    private final AtomicLong wallNanos = new AtomicLong();
+
+// Creates a batch simplifier with its own pool of worker threads, shut down by close().
+// @param simplifierFactory creates the simplifier of each worker thread
+// @param parallelism the number of worker threads
+    public BatchSimplifier(Supplier<? extends Simplifier> simplifierFactory, int parallelism) {
+        this(simplifierFactory, newPool(parallelism), true);
+        this.maxInFlight = 4 * parallelism;
+    }
+
+// Creates a batch simplifier running on a caller-managed executor, which close() leaves running.
+// @param simplifierFactory creates the simplifier of each thread of the executor
+// @param executor the executor that runs the functions
+    public BatchSimplifier(Supplier<? extends Simplifier> simplifierFactory, ExecutorService executor) {
+        this(simplifierFactory, executor, false);
+    }
+
+    private BatchSimplifier(Supplier<? extends Simplifier> simplifierFactory, ExecutorService executor,
+                            boolean ownsExecutor) {
+        Objects.requireNonNull(simplifierFactory);
+        this.executor = Objects.requireNonNull(executor);
+        this.ownsExecutor = ownsExecutor;
+        this.simplifiers = ThreadLocal.withInitial(simplifierFactory::get);
+        this.maxInFlight = 256;
+    }
+
+    private static ExecutorService newPool(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        return Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "simplifier-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+// @return the largest number of functions queued or running at once
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+// Limits the number of functions queued or running at once.
+// @param maxInFlight the limit (4 per thread for an owned pool, 256 for a caller's executor, by default)
+    public void setMaxInFlight(int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("In-flight limit must be at least 1: " + maxInFlight);
+        }
+        this.maxInFlight = maxInFlight;
+    }
+
+// Simplifies a collection of functions.
+// @param functions the functions to simplify
+// @return one result per function, in input order
+// @throws CancellationException if the calling thread is interrupted while waiting
+    public List<BatchResult> simplifyAll(Collection<FunctionSpec> functions) {
+        List<BatchResult> results = new ArrayList<>(functions.size());
+        forEachOrdered(functions.iterator(), results::add);
+        return results;
+    }
+
+// Simplifies a stream of functions, delivering the results in input order.
+// @param functions the functions to simplify
+// @param consumer receives the results on the calling thread
+// @throws CancellationException if the calling thread is interrupted while waiting
+    public void forEachOrdered(Stream<FunctionSpec> functions, Consumer<BatchResult> consumer) {
+        forEachOrdered(functions.iterator(), consumer);
+    }
+
+// Simplifies the functions of an iterator, delivering the results in input order.
+// @param functions the functions to simplify
+// @param consumer receives the results on the calling thread
+// @throws CancellationException if the calling thread is interrupted while waiting
+    public void forEachOrdered(Iterator<FunctionSpec> functions, Consumer<BatchResult> consumer) {
+        long start = System.nanoTime();
+        Deque<Future<BatchResult>> window = new ArrayDeque<>();
+        try {
+            int index = 0;
+            while (functions.hasNext() || !window.isEmpty()) {
+                // Keep the window full, then deliver its oldest result
+                while (window.size() < maxInFlight && functions.hasNext()) {
+                    window.add(executor.submit(task(index++, functions.next())));
+                }
+                consumer.accept(await(window.poll()));
+            }
+        } finally {
+            for (Future<BatchResult> future : window) future.cancel(true);
+            wallNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+// Simplifies a stream of functions, delivering the results as they complete.
+// @param functions the functions to simplify
+// @param consumer receives the results on the calling thread; BatchResult.index() gives the input position
+// @throws CancellationException if the calling thread is interrupted while waiting
+    public void forEachCompleted(Stream<FunctionSpec> functions, Consumer<BatchResult> consumer) {
+        forEachCompleted(functions.iterator(), consumer);
+    }
+
+// Simplifies the functions of an iterator, delivering the results as they complete.
+// @param functions the functions to simplify
+// @param consumer receives the results on the calling thread; BatchResult.index() gives the input position
+// @throws CancellationException if the calling thread is interrupted while waiting
+    public void forEachCompleted(Iterator<FunctionSpec> functions, Consumer<BatchResult> consumer) {
+        long start = System.nanoTime();
+        CompletionService<BatchResult> completion = new ExecutorCompletionService<>(executor);
+        Set<Future<BatchResult>> running = new HashSet<>();
+        try {
+            int index = 0;
+            while (functions.hasNext() || !running.isEmpty()) {
+                while (running.size() < maxInFlight && functions.hasNext()) {
+                    running.add(completion.submit(task(index++, functions.next())));
+                }
+                Future<BatchResult> done = completion.take();
+                running.remove(done);
+                consumer.accept(await(done));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("interrupted");
+        } finally {
+            for (Future<BatchResult> future : running) future.cancel(true);
+            wallNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+// @return the counters of all batches so far
+    public BatchStatistics getStatistics() {
+        return new BatchStatistics(completed.get(), failed.get(), busyNanos.get(), wallNanos.get());
+    }
+
+// Shuts down the worker pool if this batch simplifier created it.
+    @Override
+    public void close() {
+        if (ownsExecutor) executor.shutdownNow();
+    }
+
+// Wraps one function as a task that never throws; failures are recorded in the result.
+    private Callable<BatchResult> task(int index, FunctionSpec function) {
+        return () -> {
+            long start = System.nanoTime();
+            List<Term> terms = null;
+            RuntimeException error = null;
+            try {
+                terms = simplifiers.get().simplify(function);
+            } catch (RuntimeException e) {
+                error = e;
+            }
+            long nanos = System.nanoTime() - start;
+            completed.incrementAndGet();
+            if (error != null) failed.incrementAndGet();
+            busyNanos.addAndGet(nanos);
+            return new BatchResult(index, function, terms, error, nanos);
+        };
+    }
+
+// Waits for a task; the task itself never throws, so only interruption and cancellation can end the wait early.
+    private static BatchResult await(Future<BatchResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("interrupted");
+        } catch (ExecutionException e) {
+            // Only errors (not exceptions) escape a task; they are not isolated
+            if (e.getCause() instanceof Error error) throw error;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
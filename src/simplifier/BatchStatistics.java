@@ -0,0 +1,30 @@
+package simplifier;
+
+// Aggregate counters of the batches run by a BatchSimplifier.
+// @param completed the number of functions simplified, including failed ones
+// @param failed the number of functions whose simplification threw
+// @param busyNanos the time spent simplifying, summed over all functions (and so over all workers)
+// @param wallNanos the elapsed time of the batch calls
+public record BatchStatistics(long completed, long failed, long busyNanos, long wallNanos) {
+
+// @return the functions completed per second of batch time, or 0 if no batch has run
+    public double functionsPerSecond() {
+        return wallNanos == 0 ? 0 : completed / (wallNanos / 1e9);
+    }
+
+// @return the average time spent on one function in milliseconds, or 0 if none completed
+    public double averageMillis() {
+        return completed == 0 ? 0 : busyNanos / 1e6 / completed;
+    }
+
+// @return how many workers were busy on average during the batch calls
+    public double averageParallelism() {
+        return wallNanos == 0 ? 0 : (double) busyNanos / wallNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d functions (%d failed), %.1f functions/s, %.3f ms/function, parallelism %.2f",
+                completed, failed, functionsPerSecond(), averageMillis(), averageParallelism());
+    }
+}
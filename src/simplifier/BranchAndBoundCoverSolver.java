@@ -0,0 +1,467 @@
+package simplifier;
+
+import java.util.*;
+
+// Finds a minimum set of terms covering a list of minterms by branch and bound.
+// Gives the same optimal cover size as Petrick's Method, but only keeps the current branch in memory.
+// Rows of the chart are minterms and columns are candidate terms, both stored as index bitsets.
+// Every node first reduces the chart (forced columns, row and column dominance), then splits it into
+// independent components or branches on the row with the fewest columns.
+// The lower bound of a branch comes from uncovered rows that pairwise share no column, since each of them
+// needs a different term.
+// Every cover found on the way is completed into a cover of the whole chart and kept if it is the smallest so
+// far, so a search stopped by its budget still returns the best cover it reached (see getBestCover()).
+class BranchAndBoundCoverSolver {
+    private final CoverageChart chart;
+    private final int rowCount;
+    private final int columnCount;
+
+    private long branchesExplored;
+    private BudgetTracker budget;           // null when the search is unlimited
+    private BitSet path;                    // columns chosen by the nodes above the current one
+    private BitSet incumbent;               // smallest full cover found so far
+    private int[] rowsByDegree;             // rows by number of columns, then index; built by greedyCover
+
+// Builds the covering chart.
+// @param candidates the terms that may be used in the cover
+// @param remaining the minterms to cover
+    BranchAndBoundCoverSolver(Collection<Term> candidates, List<Integer> remaining) {
+        this.chart = new CoverageChart(candidates, remaining);
+        this.rowCount = chart.getRowCount();
+        this.columnCount = chart.getColumnCount();
+    }
+
+// Finds a minimum cover.
+// @return a smallest set of candidate terms covering all remaining minterms
+    Set<Term> solve() {
+        BitSet rows = new BitSet(rowCount);
+        rows.set(0, rowCount);
+
+        // A greedy cover gives the initial upper bound; search only accepts strictly smaller covers
+        incumbent = greedyCover(rows);
+        path = new BitSet(columnCount);
+        BitSet better = search(rows, new BitSet(columnCount), incumbent.cardinality());
+        if (better != null) incumbent = better;
+
+        return chart.toTerms(incumbent);
+    }
+
+// Returns the smallest cover found so far; after solve() was stopped by its budget, this is the best cover
+// the search reached. Before any search, the cover is built greedily.
+// @return a set of candidate terms covering all remaining minterms
+    Set<Term> getBestCover() {
+        if (incumbent == null) {
+            BitSet rows = new BitSet(rowCount);
+            rows.set(0, rowCount);
+            incumbent = greedyCover(rows);
+        }
+        return chart.toTerms(incumbent);
+    }
+
+// Completes partial covers greedily and returns the smallest result; used when Petrick's Method runs out of
+// budget part way through its products. A greedy cover of the whole chart competes with them.
+// @param partials column sets over the chart of the same candidates and minterms
+// @param limit the largest number of partial covers completed, smallest first
+// @return the smallest completed cover
+    Set<Term> completeGreedily(Collection<BitSet> partials, int limit) {
+        // One pass keeps the smallest partial covers in a heap with the largest on top
+        PriorityQueue<BitSet> smallest = new PriorityQueue<>(limit + 1,
+                Comparator.comparingInt(BitSet::cardinality).reversed());
+        for (BitSet partial : partials) {
+            if (smallest.size() == limit && partial.cardinality() >= smallest.peek().cardinality()) continue;
+            smallest.add(partial);
+            if (smallest.size() > limit) smallest.poll();
+        }
+
+        getBestCover();
+        for (BitSet partial : smallest) {
+            BitSet cover = complete(partial);
+            if (cover.cardinality() < incumbent.cardinality()) incumbent = cover;
+        }
+        return chart.toTerms(incumbent);
+    }
+
+// Limits the search: every node checks the time limit, and the number of nodes is the frontier budget.
+// @param budget the budget of the current call, or null for none
+    void setBudget(BudgetTracker budget) {
+        this.budget = budget;
+    }
+
+// @return the number of search nodes visited by the last solve
+    long getBranchesExplored() {
+        return branchesExplored;
+    }
+
+// Finds a minimum cover of the given rows that is smaller than the limit.
+// Rows covered by a single available column force that column; rows that share no column, even indirectly,
+// are solved as independent subproblems; otherwise the search branches on the row with the fewest columns.
+// Once a branch on a column has been explored, later sibling branches exclude that column,
+// so every set of columns is visited at most once.
+// @param uncovered the rows to cover
+// @param excluded columns that may not be chosen on this branch
+// @param limit the cover must have fewer columns than this
+// @return the chosen columns, or null if no cover below the limit exists
+    private BitSet search(BitSet uncovered, BitSet excluded, int limit) {
+        branchesExplored++;
+        if (budget != null) {
+            budget.checkTime();
+            budget.checkFrontier(branchesExplored);
+        }
+
+        // Reduce the chart to its cyclic core: forced columns, dominated rows and dominated columns
+        BitSet rows = (BitSet) uncovered.clone();
+        BitSet forced = new BitSet(columnCount);
+        while (true) {
+            BitSet forcedHere = forceSingleColumns(rows, excluded);
+            if (forcedHere == null) return null;
+            forced.or(forcedHere);
+
+            boolean rowsDropped = removeDominatedRows(rows, excluded);
+            BitSet reduced = excludeDominatedColumns(rows, excluded);
+            if (!rowsDropped && reduced == excluded && forcedHere.isEmpty()) break;
+            excluded = reduced;
+        }
+
+        path.or(forced);
+        BitSet result = searchReduced(rows, excluded, forced, limit);
+        path.andNot(forced);
+        return result;
+    }
+
+// Continues search() on a chart whose forced columns and dominated rows and columns have been removed.
+// @param forced the columns forced at this node, which are part of any cover returned
+    private BitSet searchReduced(BitSet rows, BitSet excluded, BitSet forced, int limit) {
+        int remaining = limit - forced.cardinality();
+        if (remaining <= 0 && !rows.isEmpty()) return null;
+        if (rows.isEmpty()) return remaining > 0 ? forced : null;
+
+        List<BitSet> components = connectedComponents(rows, excluded);
+        if (components.size() > 1) {
+            int[] bounds = new int[components.size()];
+            int boundSum = 0;
+            for (int i = 0; i < bounds.length; i++) {
+                bounds[i] = independentRowBound(components.get(i), excluded);
+                boundSum += bounds[i];
+            }
+            if (boundSum >= remaining) return null;
+
+            // Each component may use what the others leave, assuming they reach their lower bounds.
+            // Later components are searched with the covers of the earlier ones on the path.
+            BitSet result = (BitSet) forced.clone();
+            BitSet parts = new BitSet(columnCount);
+            int used = 0;
+            for (int i = 0; i < components.size() && result != null; i++) {
+                boundSum -= bounds[i];
+                BitSet part = search(components.get(i), excluded, remaining - used - boundSum);
+                if (part == null) {
+                    result = null;
+                } else {
+                    used += part.cardinality();
+                    result.or(part);
+                    parts.or(part);
+                    path.or(part);
+                }
+            }
+            path.andNot(parts);
+            return result;
+        }
+
+        int bound = independentRowBound(rows, excluded);
+        if (bound >= remaining) return null;
+
+        // Branch on the hardest row: every cover must include one of its columns
+        int row = hardestRow(rows, excluded);
+        BitSet best = null;
+        BitSet excludedHere = (BitSet) excluded.clone();
+        for (int c : undominatedColumns(available(row, excluded), rows)) {
+            BitSet next = (BitSet) rows.clone();
+            next.andNot(chart.rowsOf(c));
+            path.set(c);
+            BitSet rest = search(next, excludedHere, remaining - 1);
+            path.clear(c);
+            if (rest != null) {
+                rest.set(c);
+                offerIncumbent(rest);
+                best = rest;
+                remaining = rest.cardinality();
+                if (remaining <= bound) break;
+            }
+            excludedHere.set(c);
+        }
+
+        if (best == null) return null;
+        best.or(forced);
+        return best;
+    }
+
+// Removes every row whose available columns include all available columns of another row,
+// since covering the other row covers it too. Of two equal rows the first is kept.
+// @param rows the rows to cover; updated in place
+// @return true if any row was removed
+    private boolean removeDominatedRows(BitSet rows, BitSet excluded) {
+        List<Integer> live = new ArrayList<>();
+        List<BitSet> columnsHere = new ArrayList<>();
+        for (int r = rows.nextSetBit(0); r >= 0; r = rows.nextSetBit(r + 1)) {
+            live.add(r);
+            columnsHere.add(available(r, excluded));
+        }
+
+        boolean removed = false;
+        boolean[] dropped = new boolean[live.size()];
+        for (int i = 0; i < live.size(); i++) {
+            for (int j = 0; j < live.size(); j++) {
+                if (i == j || dropped[j]) continue;
+                BitSet rest = (BitSet) columnsHere.get(j).clone();
+                rest.andNot(columnsHere.get(i));
+                if (rest.isEmpty() && (j < i || !columnsHere.get(j).equals(columnsHere.get(i)))) {
+                    rows.clear(live.get(i));
+                    dropped[i] = true;
+                    removed = true;
+                    break;
+                }
+            }
+        }
+        return removed;
+    }
+
+// Excludes every column whose uncovered rows are a subset of another available column's.
+// Swapping such a column for the larger one never makes a cover worse; of two equal columns the first is kept.
+// @return a new excluded set, or the same one if nothing is dominated
+    private BitSet excludeDominatedColumns(BitSet rows, BitSet excluded) {
+        List<Integer> live = new ArrayList<>();
+        List<BitSet> covered = new ArrayList<>();
+        for (int c = 0; c < columnCount; c++) {
+            if (excluded.get(c) || !chart.rowsOf(c).intersects(rows)) continue;
+            BitSet here = (BitSet) chart.rowsOf(c).clone();
+            here.and(rows);
+            live.add(c);
+            covered.add(here);
+        }
+
+        BitSet result = excluded;
+        boolean[] dropped = new boolean[live.size()];
+        for (int i = 0; i < live.size(); i++) {
+            for (int j = 0; j < live.size(); j++) {
+                if (i == j || dropped[j]) continue;
+                BitSet rest = (BitSet) covered.get(i).clone();
+                rest.andNot(covered.get(j));
+                if (rest.isEmpty() && (j < i || !covered.get(j).equals(covered.get(i)))) {
+                    if (result == excluded) result = (BitSet) excluded.clone();
+                    result.set(live.get(i));
+                    dropped[i] = true;
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+// Repeatedly chooses the only available column of any row that has one, removing the rows it covers.
+// @param rows the rows to cover; updated in place
+// @return the forced columns, or null if some row has no available column
+    private BitSet forceSingleColumns(BitSet rows, BitSet excluded) {
+        BitSet forced = new BitSet(columnCount);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int r = rows.nextSetBit(0); r >= 0; r = rows.nextSetBit(r + 1)) {
+                BitSet columnsHere = available(r, excluded);
+                int count = columnsHere.cardinality();
+                if (count == 0) return null;
+                if (count == 1) {
+                    int c = columnsHere.nextSetBit(0);
+                    forced.set(c);
+                    rows.andNot(chart.rowsOf(c));
+                    changed = true;
+                }
+            }
+        }
+        return forced;
+    }
+
+// Splits rows into groups connected through shared available columns.
+    private List<BitSet> connectedComponents(BitSet rows, BitSet excluded) {
+        List<BitSet> components = new ArrayList<>();
+        BitSet unvisited = (BitSet) rows.clone();
+        while (!unvisited.isEmpty()) {
+            BitSet component = new BitSet(rowCount);
+            BitSet frontier = new BitSet(rowCount);
+            frontier.set(unvisited.nextSetBit(0));
+            while (!frontier.isEmpty()) {
+                int r = frontier.nextSetBit(0);
+                frontier.clear(r);
+                component.set(r);
+                unvisited.clear(r);
+                BitSet columnsHere = available(r, excluded);
+                for (int c = columnsHere.nextSetBit(0); c >= 0; c = columnsHere.nextSetBit(c + 1)) {
+                    BitSet neighbors = (BitSet) chart.rowsOf(c).clone();
+                    neighbors.and(unvisited);
+                    frontier.or(neighbors);
+                }
+            }
+            components.add(component);
+        }
+        return components;
+    }
+
+// Computes a lower bound on the number of columns needed to cover the rows.
+// Takes the larger of two bounds: a greedy set of rows that pairwise share no available column
+// (rows with fewer columns are taken first, which tends to give a larger set), and the sum over rows of
+// 1 / (the most rows any of its columns covers), which no column can contribute more than 1 to.
+    private int independentRowBound(BitSet uncovered, BitSet excluded) {
+        List<BitSet> rows = new ArrayList<>();
+        Map<Integer, Integer> coverage = new HashMap<>();
+        double fractional = 0;
+        for (int r = uncovered.nextSetBit(0); r >= 0; r = uncovered.nextSetBit(r + 1)) {
+            BitSet columnsHere = available(r, excluded);
+            rows.add(columnsHere);
+
+            int most = 0;
+            for (int c = columnsHere.nextSetBit(0); c >= 0; c = columnsHere.nextSetBit(c + 1)) {
+                most = Math.max(most, coverage.computeIfAbsent(c, column -> {
+                    BitSet covered = (BitSet) chart.rowsOf(column).clone();
+                    covered.and(uncovered);
+                    return covered.cardinality();
+                }));
+            }
+            fractional += 1.0 / most;
+        }
+        rows.sort(Comparator.comparingInt(BitSet::cardinality));
+
+        BitSet usedColumns = new BitSet(columnCount);
+        int count = 0;
+        for (BitSet columnsHere : rows) {
+            if (!columnsHere.intersects(usedColumns)) {
+                usedColumns.or(columnsHere);
+                count++;
+            }
+        }
+        return Math.max(count, (int) Math.ceil(fractional - 1e-9));
+    }
+
+// Picks the uncovered row with the fewest available columns.
+    private int hardestRow(BitSet uncovered, BitSet excluded) {
+        int bestRow = -1;
+        int fewest = Integer.MAX_VALUE;
+        for (int r = uncovered.nextSetBit(0); r >= 0; r = uncovered.nextSetBit(r + 1)) {
+            int count = available(r, excluded).cardinality();
+            if (count < fewest) {
+                fewest = count;
+                bestRow = r;
+            }
+        }
+        return bestRow;
+    }
+
+// @return the columns covering a row that are not excluded
+    private BitSet available(int row, BitSet excluded) {
+        BitSet columnsHere = (BitSet) chart.columnsOf(row).clone();
+        columnsHere.andNot(excluded);
+        return columnsHere;
+    }
+
+// Drops every column whose uncovered rows are a subset of another candidate's, since swapping it for the
+// larger column never makes a cover worse, then orders the rest by coverage.
+    private List<Integer> undominatedColumns(BitSet candidates, BitSet uncovered) {
+        List<Integer> ordered = columnsByCoverage(candidates, uncovered);
+        List<BitSet> rows = new ArrayList<>();
+        for (int c : ordered) {
+            BitSet covered = (BitSet) chart.rowsOf(c).clone();
+            covered.and(uncovered);
+            rows.add(covered);
+        }
+
+        List<Integer> kept = new ArrayList<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            boolean dominated = false;
+            for (int j = 0; j < ordered.size() && !dominated; j++) {
+                if (i == j) continue;
+                BitSet rest = (BitSet) rows.get(i).clone();
+                rest.andNot(rows.get(j));
+
+                // Equal columns: keep only the first in order
+                dominated = rest.isEmpty() && (j < i || !rows.get(j).equals(rows.get(i)));
+            }
+            if (!dominated) kept.add(ordered.get(i));
+        }
+        return kept;
+    }
+
+// Orders columns so the ones covering the most uncovered rows are tried first.
+    private List<Integer> columnsByCoverage(BitSet candidates, BitSet uncovered) {
+        List<Integer> order = new ArrayList<>();
+        int[] gain = new int[columnCount];
+        for (int c = candidates.nextSetBit(0); c >= 0; c = candidates.nextSetBit(c + 1)) {
+            BitSet rows = (BitSet) chart.rowsOf(c).clone();
+            rows.and(uncovered);
+            gain[c] = rows.cardinality();
+            order.add(c);
+        }
+        order.sort((a, b) -> gain[b] - gain[a]);
+        return order;
+    }
+
+// Completes a cover of the current node into a cover of the whole chart and keeps it if it is the smallest yet.
+// The columns on the path cover the rows settled above the node; rows of components not yet searched are
+// covered greedily.
+// @param cover columns covering the rows of the current node
+    private void offerIncumbent(BitSet cover) {
+        BitSet full = (BitSet) path.clone();
+        full.or(cover);
+        full = complete(full);
+        if (full.cardinality() < incumbent.cardinality()) incumbent = full;
+    }
+
+// Adds greedily chosen columns to a set of columns until it covers every row.
+// @return a new set of columns covering the whole chart
+    private BitSet complete(BitSet columns) {
+        BitSet uncovered = new BitSet(rowCount);
+        uncovered.set(0, rowCount);
+        for (int c = columns.nextSetBit(0); c >= 0; c = columns.nextSetBit(c + 1)) uncovered.andNot(chart.rowsOf(c));
+        BitSet cover = (BitSet) columns.clone();
+        if (!uncovered.isEmpty()) cover.or(greedyCover(uncovered));
+        return cover;
+    }
+
+// Builds a cover by repeatedly taking the column covering the most uncovered rows of the hardest row.
+// The hardest row is the uncovered row with the fewest columns, so the rows are ordered by that count once.
+    private BitSet greedyCover(BitSet rows) {
+        if (rowsByDegree == null) {
+            rowsByDegree = new int[rowCount];
+            int[] degree = new int[rowCount];
+            Integer[] order = new Integer[rowCount];
+            for (int r = 0; r < rowCount; r++) {
+                degree[r] = chart.columnsOf(r).cardinality();
+                order[r] = r;
+            }
+            Arrays.sort(order, Comparator.comparingInt(r -> degree[r]));
+            for (int i = 0; i < rowCount; i++) rowsByDegree[i] = order[i];
+        }
+
+        BitSet uncovered = (BitSet) rows.clone();
+        BitSet cover = new BitSet(columnCount);
+        for (int row : rowsByDegree) {
+            if (!uncovered.get(row)) continue;
+            int column = mostCovering(chart.columnsOf(row), uncovered);
+            cover.set(column);
+            uncovered.andNot(chart.rowsOf(column));
+        }
+        return cover;
+    }
+
+// @return the first of the candidate columns covering the most uncovered rows
+    private int mostCovering(BitSet candidates, BitSet uncovered) {
+        int best = -1;
+        int bestGain = -1;
+        for (int c = candidates.nextSetBit(0); c >= 0; c = candidates.nextSetBit(c + 1)) {
+            BitSet rows = (BitSet) chart.rowsOf(c).clone();
+            rows.and(uncovered);
+            int gain = rows.cardinality();
+            if (gain > bestGain) {
+                bestGain = gain;
+                best = c;
+            }
+        }
+        return best;
+    }
+}
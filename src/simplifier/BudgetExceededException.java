@@ -0,0 +1,19 @@
+package simplifier;
+
+// Thrown by BudgetTracker to unwind a simplification that ran out of budget or was interrupted.
+// It never leaves the simplifier: the result reports it as a SimplificationStatus instead.
+class BudgetExceededException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final boolean cancelled;
+
+    BudgetExceededException(String message, boolean cancelled) {
+        super(message, null, false, false);
+        this.cancelled = cancelled;
+    }
+
+// @return true if the calling thread was interrupted, rather than a limit being hit
+    boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,67 @@
+package simplifier;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Checks a SimplificationBudget during one call.
+// The check methods throw BudgetExceededException when a limit is hit or the calling thread has been
+// interrupted; they may be called from ForkJoinPool workers, so interruption is read from the calling
+// thread and not from the current one. The tracker also remembers why a finished cover is not minimal.
+class BudgetTracker {
+
+    private final SimplificationBudget budget;
+    private final long deadline;            // System.nanoTime() value, meaningful only with a time limit
+    private final Thread caller;
+    private final AtomicLong roundTerms = new AtomicLong();    // terms combined so far in the current round
+    private String nonOptimalReason;
+
+// Starts tracking a budget from now, on behalf of the current thread.
+    BudgetTracker(SimplificationBudget budget) {
+        this.budget = budget;
+        this.deadline = budget.timeLimit() == null ? 0 : System.nanoTime() + budget.timeLimit().toNanos();
+        this.caller = Thread.currentThread();
+    }
+
+// Checks the time limit and the interrupt status of the calling thread.
+    void checkTime() {
+        if (caller.isInterrupted()) {
+            throw new BudgetExceededException("interrupted", true);
+        }
+        if (budget.timeLimit() != null && System.nanoTime() - deadline > 0) {
+            throw new BudgetExceededException("time limit of " + budget.timeLimit().toMillis() + " ms exceeded", false);
+        }
+    }
+
+// Starts counting the terms of a new combination round.
+    void startRound() {
+        roundTerms.set(0);
+    }
+
+// Adds terms combined by one unit of work, possibly on a worker thread, and checks the round's total.
+    void addRoundTerms(long terms) {
+        checkTerms(roundTerms.addAndGet(terms));
+    }
+
+// Checks the number of terms produced by a combination round.
+    void checkTerms(long terms) {
+        if (terms > budget.maxTerms()) {
+            throw new BudgetExceededException("term budget of " + budget.maxTerms() + " exceeded", false);
+        }
+    }
+
+// Checks the number of partial covers of the covering step.
+    void checkFrontier(long frontier) {
+        if (frontier > budget.maxFrontier()) {
+            throw new BudgetExceededException("frontier budget of " + budget.maxFrontier() + " exceeded", false);
+        }
+    }
+
+// Records that the cover will not be minimal; the first reason is kept.
+    void markNonOptimal(String reason) {
+        if (nonOptimalReason == null) nonOptimalReason = reason;
+    }
+
+// @return why the cover is not minimal, or null if it is
+    String getNonOptimalReason() {
+        return nonOptimalReason;
+    }
+}
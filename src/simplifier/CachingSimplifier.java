@@ -0,0 +1,153 @@
+package simplifier;
+
+import java.util.*;
+
+// Simplifier decorator that remembers the covers of recently simplified functions.
+// Functions are keyed by a canonical form: the variable count, the sorted distinct minterms and the sorted
+// distinct don't-cares that are not also minterms, so the same function submitted in another order, with
+// repeats, or with a redundant don't-care is served from the cache.
+// At most maxEntries covers are kept; the least recently used one is evicted first.
+// Covers are stored and returned as unmodifiable lists of immutable Terms, so callers cannot change a cached
+// entry. Exceptions of the underlying simplifier are not cached.
+// The cache may be shared between threads. Simplification runs outside the lock, so two threads missing the same
+// function at once both compute it and the later cover replaces the earlier one; both are valid covers.
+public class CachingSimplifier implements Simplifier {
+
+    private final Simplifier simplifier;
+    private final int maxEntries;
+    private final LinkedHashMap<Key, List<Term>> cache;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+// Creates a cache in front of a simplifier.
+// @param simplifier the simplifier that computes covers on a miss
+// @param maxEntries the largest number of cached functions
+    public CachingSimplifier(Simplifier simplifier, int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1: " + maxEntries);
+        }
+        this.simplifier = Objects.requireNonNull(simplifier);
+        this.maxEntries = maxEntries;
+        // Access order turns the map into an LRU list; the eldest entry is dropped once the map is full
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, List<Term>> eldest) {
+                if (size() <= CachingSimplifier.this.maxEntries) return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+// Returns the cached cover of a function, or simplifies it and caches the cover.
+// @param numVariables the number of variables (1 to 64)
+// @param minterms a list of minterms (e.g., 1, 3, 5, 7)
+// @param dontCares a list of don't-care input combinations (e.g., 2, 6)
+// @return an unmodifiable list of simplified Terms
+    @Override
+    public List<Term> simplify(int numVariables, List<Integer> minterms, List<Integer> dontCares) {
+        FunctionSpec.validate(numVariables, minterms, dontCares);
+        Key key = Key.of(numVariables, minterms, dontCares);
+        synchronized (cache) {
+            List<Term> cover = cache.get(key);
+            if (cover != null) {
+                hits++;
+                return cover;
+            }
+            misses++;
+        }
+
+        List<Term> cover = List.copyOf(simplifier.simplify(numVariables, minterms, dontCares));
+        synchronized (cache) {
+            cache.put(key, cover);
+        }
+        return cover;
+    }
+
+// @return the simplifier that computes covers on a miss
+    public Simplifier getSimplifier() {
+        return simplifier;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+// @return the number of cached functions
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+// @return the number of calls served from the cache
+    public long getHits() {
+        synchronized (cache) {
+            return hits;
+        }
+    }
+
+// @return the number of calls that had to simplify
+    public long getMisses() {
+        synchronized (cache) {
+            return misses;
+        }
+    }
+
+// @return the number of covers dropped to make room for newer ones
+    public long getEvictions() {
+        synchronized (cache) {
+            return evictions;
+        }
+    }
+
+// @return the fraction of calls served from the cache, or 0 if there were none
+    public double getHitRate() {
+        synchronized (cache) {
+            long calls = hits + misses;
+            return calls == 0 ? 0 : (double) hits / calls;
+        }
+    }
+
+// Drops every cached cover and resets the statistics.
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+            hits = 0;
+            misses = 0;
+            evictions = 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        synchronized (cache) {
+            return String.format("%d/%d cached, %d hits, %d misses, %d evictions",
+                    cache.size(), maxEntries, hits, misses, evictions);
+        }
+    }
+
+// Canonical form of a function: variable count, sorted distinct minterms, and sorted distinct don't-cares
+// that are not minterms.
+    private record Key(int numVariables, int[] minterms, int[] dontCares) {
+
+        static Key of(int numVariables, List<Integer> minterms, List<Integer> dontCares) {
+            int[] on = minterms.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+            int[] dc = dontCares.stream().mapToInt(Integer::intValue)
+                    .filter(d -> Arrays.binarySearch(on, d) < 0).sorted().distinct().toArray();
+            return new Key(numVariables, on, dc);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key other && numVariables == other.numVariables
+                    && Arrays.equals(minterms, other.minterms) && Arrays.equals(dontCares, other.dontCares);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * numVariables + Arrays.hashCode(minterms)) + Arrays.hashCode(dontCares);
+        }
+    }
+}
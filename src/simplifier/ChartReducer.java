@@ -0,0 +1,165 @@
+package simplifier;
+
+import java.util.*;
+import java.util.function.IntFunction;
+
+// Reduces a prime implicant chart to its cyclic core before the covering step.
+// Repeats, until nothing changes:
+// - essential extraction: a row covered by a single column forces that column into the cover;
+// - row dominance: a row whose columns include all columns of another row is dropped,
+//   since covering the other row covers it too;
+// - column dominance: a column whose rows are a subset of another column's is dropped,
+//   since the larger column is never a worse choice.
+// The minimum cover size is preserved: it equals the selected terms plus a minimum cover of the core.
+class ChartReducer {
+    private final CoverageChart chart;
+    private final BitSet liveRows;
+    private final BitSet liveColumns;
+    private final BitSet selected;
+
+// Builds the chart.
+// @param candidates the terms that may be used in the cover
+// @param minterms the minterms to cover
+    ChartReducer(Collection<Term> candidates, List<Integer> minterms) {
+        this.chart = new CoverageChart(candidates, minterms);
+        this.liveRows = new BitSet(chart.getRowCount());
+        this.liveRows.set(0, chart.getRowCount());
+        this.liveColumns = new BitSet(chart.getColumnCount());
+        this.liveColumns.set(0, chart.getColumnCount());
+        this.selected = new BitSet(chart.getColumnCount());
+    }
+
+// Reduces the chart to a fixed point.
+// @return the chart dimensions before and after
+    ChartReduction reduce() {
+        int rowsBefore = liveRows.cardinality();
+        int columnsBefore = liveColumns.cardinality();
+
+        boolean changed = true;
+        while (changed) {
+            changed = extractEssentials();
+            changed |= removeDominatedRows();
+            changed |= removeDominatedColumns();
+        }
+
+        return new ChartReduction(rowsBefore, columnsBefore,
+                liveRows.cardinality(), liveColumns.cardinality(), selected.cardinality());
+    }
+
+// @return the terms the reduction put into the cover
+    Set<Term> getSelected() {
+        return chart.toTerms(selected);
+    }
+
+// @return the columns of the cyclic core
+    Set<Term> getRemainingCandidates() {
+        return chart.toTerms(liveColumns);
+    }
+
+// @return the rows of the cyclic core
+    List<Integer> getRemainingMinterms() {
+        List<Integer> result = new ArrayList<>();
+        for (int r = liveRows.nextSetBit(0); r >= 0; r = liveRows.nextSetBit(r + 1)) {
+            result.add(chart.getRow(r));
+        }
+        return result;
+    }
+
+// Selects the only live column of every row that has one and removes the rows it covers.
+    private boolean extractEssentials() {
+        boolean changed = false;
+        for (int r = liveRows.nextSetBit(0); r >= 0; r = liveRows.nextSetBit(r + 1)) {
+            BitSet columnsHere = live(chart.columnsOf(r), liveColumns);
+            if (columnsHere.cardinality() == 1) {
+                int c = columnsHere.nextSetBit(0);
+                selected.set(c);
+                liveColumns.clear(c);
+                liveRows.andNot(chart.rowsOf(c));
+                changed = true;
+            }
+        }
+
+        // Columns that no longer cover any live row are useless
+        for (int c = liveColumns.nextSetBit(0); c >= 0; c = liveColumns.nextSetBit(c + 1)) {
+            if (!chart.rowsOf(c).intersects(liveRows)) {
+                liveColumns.clear(c);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+// Drops rows whose live columns include all live columns of another row. Of two equal rows the first is kept.
+    private boolean removeDominatedRows() {
+        return removeDominated(liveRows, chart::columnsOf, liveColumns, false);
+    }
+
+// Drops columns whose live rows are a subset of another column's. Of two equal columns the first is kept.
+    private boolean removeDominatedColumns() {
+        return removeDominated(liveColumns, chart::rowsOf, liveRows, true);
+    }
+
+// Shared dominance pass over either rows or columns.
+// An item is dominated by a strictly larger set (for dropSubsets) or a strictly smaller one (otherwise), or
+// by an equal set of a lower index. The items are visited with the dominating side first, so each is only
+// compared with kept items, which dominate every dropped one, and only with those of a different size.
+// @param items the live rows or columns; updated in place
+// @param sets the set of each item (columns of a row, or rows of a column)
+// @param mask the live items of the other dimension
+// @param dropSubsets true to drop items whose set is contained in another's, false to drop supersets
+    private static boolean removeDominated(BitSet items, IntFunction<BitSet> sets, BitSet mask, boolean dropSubsets) {
+        List<Integer> order = new ArrayList<>();
+        List<BitSet> liveSets = new ArrayList<>();
+        for (int i = items.nextSetBit(0); i >= 0; i = items.nextSetBit(i + 1)) {
+            order.add(i);
+            liveSets.add(live(sets.apply(i), mask));
+        }
+        int count = order.size();
+        long[][] words = new long[count][];
+        int[] sizes = new int[count];
+        Integer[] visit = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            words[i] = liveSets.get(i).toLongArray();
+            sizes[i] = liveSets.get(i).cardinality();
+            visit[i] = i;
+        }
+        // Largest sets first when dropping subsets, smallest first otherwise; equal sizes by index
+        Comparator<Integer> bySize = Comparator.comparingInt(i -> sizes[i]);
+        Arrays.sort(visit, (dropSubsets ? bySize.reversed() : bySize).thenComparingInt(i -> i));
+
+        boolean changed = false;
+        List<Integer> kept = new ArrayList<>();
+        Set<BitSet> keptSets = new HashSet<>();
+        for (int i : visit) {
+            boolean dominated = keptSets.contains(liveSets.get(i));
+            for (int k = 0; k < kept.size() && !dominated; k++) {
+                int j = kept.get(k);
+                if (sizes[j] == sizes[i]) break;
+                dominated = dropSubsets ? isSubset(words[i], words[j]) : isSubset(words[j], words[i]);
+            }
+            if (dominated) {
+                items.clear(order.get(i));
+                changed = true;
+            } else {
+                kept.add(i);
+                keptSets.add(liveSets.get(i));
+            }
+        }
+        return changed;
+    }
+
+// @return true if every bit of a is also set in b
+    private static boolean isSubset(long[] a, long[] b) {
+        for (int i = 0; i < a.length; i++) {
+            long other = i < b.length ? b[i] : 0;
+            if ((a[i] & ~other) != 0) return false;
+        }
+        return true;
+    }
+
+    private static BitSet live(BitSet set, BitSet mask) {
+        BitSet result = (BitSet) set.clone();
+        result.and(mask);
+        return result;
+    }
+}
@@ -0,0 +1,16 @@
+package simplifier;
+
+// Dimensions of the prime implicant chart before and after reduction.
+// Rows are minterms still to cover and columns are candidate terms.
+// @param rowsBefore rows handed to the reduction
+// @param columnsBefore columns handed to the reduction
+// @param rowsAfter rows of the cyclic core left for the covering step
+// @param columnsAfter columns of the cyclic core left for the covering step
+// @param selected terms chosen by the reduction itself (secondary essentials)
+public record ChartReduction(int rowsBefore, int columnsBefore, int rowsAfter, int columnsAfter, int selected) {
+
+    @Override
+    public String toString() {
+        return rowsBefore + "x" + columnsBefore + " -> " + rowsAfter + "x" + columnsAfter + " (" + selected + " selected)";
+    }
+}
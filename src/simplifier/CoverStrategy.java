@@ -0,0 +1,20 @@
+package simplifier;
+
+// The method used by QuineMcCluskeySimplifier to cover the minterms left after the essential prime implicants.
+// The exact strategies are exponential in the worst case and have no bound of their own: a plain simplify call
+// runs until the cover is found. Use simplifyWithBudget, or AutoSimplifier, which sets a time limit, when
+// the input is not known to be small.
+public enum CoverStrategy {
+
+    // Petrick's Method: expands the full product of sums and picks the smallest product.
+    PETRICK,
+
+    // Petrick's Method with absorption (X + XY = X) after every multiplication step and a capped frontier.
+    PETRICK_ABSORPTION,
+
+    // Exact minimum cover by branch and bound, without materializing the product expansion.
+    // Memory stays small, but time does not: a cyclic core of a few hundred rows and columns (e.g. 144x189
+    // from a dense random 8-variable function) can take minutes. With a budget, the search stops at its time
+    // or node limit (maxFrontier) and returns the best cover found so far.
+    BRANCH_AND_BOUND
+}
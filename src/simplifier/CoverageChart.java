@@ -0,0 +1,77 @@
+package simplifier;
+
+import java.util.*;
+
+// The prime implicant chart stored as index bitsets.
+// Rows are the minterms to cover and columns are the candidate terms; membership is decided by Term.covers,
+// so no minterm sets are materialized. The bitsets are shared and must not be modified by callers.
+class CoverageChart {
+    private final List<Term> columns;
+    private final int[] rows;
+    private final BitSet[] rowsOfColumn;    // column -> rows it covers
+    private final BitSet[] columnsOfRow;    // row -> columns covering it
+
+// Builds the chart.
+// @param candidates the terms that may be used in the cover
+// @param minterms the minterms to cover
+    CoverageChart(Collection<Term> candidates, List<Integer> minterms) {
+        this(candidates, minterms.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+// Builds the chart from unboxed minterms.
+// @param candidates the terms that may be used in the cover
+// @param minterms the minterms to cover; the array is kept, not copied
+    CoverageChart(Collection<Term> candidates, int[] minterms) {
+        this.columns = new ArrayList<>(candidates);
+        this.rows = minterms;
+        this.rowsOfColumn = new BitSet[columns.size()];
+        this.columnsOfRow = new BitSet[rows.length];
+
+        for (int r = 0; r < rows.length; r++) columnsOfRow[r] = new BitSet(columns.size());
+        for (int c = 0; c < columns.size(); c++) {
+            rowsOfColumn[c] = new BitSet(rows.length);
+            Term t = columns.get(c);
+            for (int r = 0; r < rows.length; r++) {
+                if (t.covers(rows[r])) {
+                    rowsOfColumn[c].set(r);
+                    columnsOfRow[r].set(c);
+                }
+            }
+        }
+    }
+
+    int getRowCount() {
+        return rows.length;
+    }
+
+    int getColumnCount() {
+        return columns.size();
+    }
+
+    Term getColumn(int column) {
+        return columns.get(column);
+    }
+
+    int getRow(int row) {
+        return rows[row];
+    }
+
+// @return the rows covered by a column
+    BitSet rowsOf(int column) {
+        return rowsOfColumn[column];
+    }
+
+// @return the columns covering a row
+    BitSet columnsOf(int row) {
+        return columnsOfRow[row];
+    }
+
+// Converts a set of column indices back to terms.
+    Set<Term> toTerms(BitSet columnIndices) {
+        Set<Term> result = new HashSet<>();
+        for (int c = columnIndices.nextSetBit(0); c >= 0; c = columnIndices.nextSetBit(c + 1)) {
+            result.add(columns.get(c));
+        }
+        return result;
+    }
+}
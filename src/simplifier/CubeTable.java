@@ -0,0 +1,118 @@
+package simplifier;
+
+import java.util.*;
+
+// An open-addressing hash table of Terms keyed by their bit-packed (value, care mask) cube.
+// Lookups take the two longs directly, so probing for a neighbor cube does not allocate.
+// Terms are also kept in insertion order, so iteration is deterministic, and each cube can be looked up by its
+// position in that order.
+class CubeTable {
+    private long[] values;
+    private long[] masks;
+    private Term[] slots;
+    private int[] positions;                // Insertion position of the term in each slot
+    private final List<Term> terms = new ArrayList<>();
+
+// Creates a table sized for the expected number of cubes.
+// @param expectedSize the number of cubes the table should hold without resizing
+    CubeTable(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+// Looks up the term with the given cube.
+// @param value the levels of the fixed bits
+// @param careMask the mask of fixed bits
+// @return the stored term, or null if the cube is not in the table
+    Term get(long value, long careMask) {
+        int index = indexOf(value, careMask);
+        return slots[index];
+    }
+
+// Looks up the insertion position of the term with the given cube.
+// @param value the levels of the fixed bits
+// @param careMask the mask of fixed bits
+// @return the index of the term in terms(), or -1 if the cube is not in the table
+    int positionOf(long value, long careMask) {
+        int index = indexOf(value, careMask);
+        return slots[index] == null ? -1 : positions[index];
+    }
+
+// Adds a term unless a term with the same cube is already present.
+// @param term the term to add
+// @return true if the term was added
+    boolean add(Term term) {
+        int index = indexOf(term.getValue(), term.getCareMask());
+        if (slots[index] != null) return false;
+
+        values[index] = term.getValue();
+        masks[index] = term.getCareMask();
+        slots[index] = term;
+        positions[index] = terms.size();
+        terms.add(term);
+
+        if (terms.size() * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        return true;
+    }
+
+// Removes all terms while keeping the allocated arrays.
+    void clear() {
+        Arrays.fill(slots, null);
+        terms.clear();
+    }
+
+    int size() {
+        return terms.size();
+    }
+
+// @return the number of slots of the hash arrays
+    int capacity() {
+        return slots.length;
+    }
+
+// @return the stored terms in insertion order
+    List<Term> terms() {
+        return terms;
+    }
+
+// Finds the slot holding the cube, or the empty slot where it would go (linear probing).
+    private int indexOf(long value, long careMask) {
+        int mask = slots.length - 1;
+        int index = hash(value, careMask) & mask;
+        while (slots[index] != null && (values[index] != value || masks[index] != careMask)) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private static int hash(long value, long careMask) {
+        long h = value * 0x9E3779B97F4A7C15L + careMask * 0xC2B2AE3D27D4EB4FL;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = 16;
+        while (capacity < expectedSize * 2) capacity <<= 1;
+        return capacity;
+    }
+
+    private void allocate(int capacity) {
+        values = new long[capacity];
+        masks = new long[capacity];
+        slots = new Term[capacity];
+        positions = new int[capacity];
+    }
+
+    private void rehash(int capacity) {
+        allocate(capacity);
+        for (int i = 0; i < terms.size(); i++) {
+            Term t = terms.get(i);
+            int index = indexOf(t.getValue(), t.getCareMask());
+            values[index] = t.getValue();
+            masks[index] = t.getCareMask();
+            slots[index] = t;
+            positions[index] = i;
+        }
+    }
+}
@@ -0,0 +1,511 @@
+package simplifier;
+
+import java.util.*;
+
+// Heuristic two-level minimizer in the style of Espresso-II.
+// Works directly on lists of cubes (bit-packed Terms) instead of enumerating prime implicants, so its cost
+// depends on the size of the cover rather than on 2^n, and functions of 30 to 64 variables are practical.
+// The cover is improved by the EXPAND, IRREDUNDANT and REDUCE loop:
+// - EXPAND grows each cube as far as the off-set allows, swallowing the cubes it then contains;
+//   the off-set is computed by complementing the function, unless it would have far more cubes than the
+//   function itself (as for many cubes over few shared variables), in which case each step is checked by
+//   containment in the on-set and don't-cares instead;
+// - IRREDUNDANT drops cubes covered by the rest of the cover and the don't-cares;
+// - REDUCE shrinks each cube to the part no other cube covers, so the next EXPAND can grow it another way.
+// The loop stops when a pass no longer lowers the number of terms or literals.
+// The result is a cover of prime implicants with no redundant term, usually minimal or close to it,
+// but unlike QuineMcCluskeySimplifier not guaranteed to be minimal.
+public class EspressoSimplifier implements Simplifier {
+
+    // Largest off-set cover computed for EXPAND: a fixed multiple of the input cubes, up to a hard cap
+    private static final int OFF_SET_FACTOR = 16;
+    private static final int OFF_SET_LIMIT = 50_000;
+
+    private int maxPasses = 20;
+
+// @return the largest number of REDUCE, EXPAND, IRREDUNDANT passes after the first EXPAND
+    public int getMaxPasses() {
+        return maxPasses;
+    }
+
+// Limits the number of improvement passes.
+// @param maxPasses the largest number of passes (20 by default); 0 stops after the first EXPAND and IRREDUNDANT
+    public void setMaxPasses(int maxPasses) {
+        if (maxPasses < 0) {
+            throw new IllegalArgumentException("Pass count must not be negative: " + maxPasses);
+        }
+        this.maxPasses = maxPasses;
+    }
+
+// Simplifies a function given by minterms, which are converted to single-minterm cubes.
+// A number in both lists counts as a minterm.
+// @param numVariables the number of variables (1 to 64)
+// @param minterms a list of minterms (e.g., 1, 3, 5, 7)
+// @param dontCares a list of don't-care input combinations (e.g., 2, 6)
+// @return a list of simplified Terms
+    @Override
+    public List<Term> simplify(int numVariables, List<Integer> minterms, List<Integer> dontCares) {
+        FunctionSpec.validate(numVariables, minterms, dontCares);
+        Set<Integer> onSet = new LinkedHashSet<>(minterms);
+        List<Term> onCubes = new ArrayList<>(onSet.size());
+        for (int m : onSet) onCubes.add(Term.ofMinterm(m, numVariables));
+
+        List<Term> dcCubes = new ArrayList<>();
+        for (int d : new LinkedHashSet<>(dontCares)) {
+            if (!onSet.contains(d)) dcCubes.add(Term.ofMinterm(d, numVariables));
+        }
+        return simplifyCubes(numVariables, onCubes, dcCubes);
+    }
+
+// Simplifies a function given as packed truth tables, converting each set bit to a single-minterm cube.
+// An input combination set in both tables counts as a minterm.
+// @param numVariables the number of variables (1 to TruthTable.MAX_VARIABLES)
+// @param onSet the truth table of the minterms
+// @param dontCares the truth table of the don't-cares
+// @return a list of simplified Terms
+    @Override
+    public List<Term> simplifyTruthTable(int numVariables, long[] onSet, long[] dontCares) {
+        TruthTable.validate(numVariables, onSet, "on-set");
+        TruthTable.validate(numVariables, dontCares, "don't-care");
+        List<Term> onCubes = new ArrayList<>(TruthTable.count(onSet));
+        List<Term> dcCubes = new ArrayList<>();
+        for (int w = 0; w < onSet.length; w++) {
+            for (long bits = onSet[w]; bits != 0; bits &= bits - 1) {
+                onCubes.add(Term.ofMinterm((long) w << 6 | Long.numberOfTrailingZeros(bits), numVariables));
+            }
+            for (long bits = dontCares[w] & ~onSet[w]; bits != 0; bits &= bits - 1) {
+                dcCubes.add(Term.ofMinterm((long) w << 6 | Long.numberOfTrailingZeros(bits), numVariables));
+            }
+        }
+        return simplifyCubes(numVariables, onCubes, dcCubes);
+    }
+
+// Simplifies a function given as a cover of cubes, e.g. the rows of a PLA table.
+// The cubes may overlap; an input combination covered by both lists is treated as a don't-care.
+// @param numVariables the number of variables (1 to 64)
+// @param onSet cubes covering the on-set
+// @param dontCares cubes covering the don't-care set
+// @return a list of simplified Terms, each numVariables bits wide
+// @throws IllegalArgumentException if a cube has a different width
+    public List<Term> simplifyCubes(int numVariables, List<Term> onSet, List<Term> dontCares) {
+        checkWidth(numVariables, onSet);
+        checkWidth(numVariables, dontCares);
+        if (onSet.isEmpty()) return List.of();
+
+        List<Term> cover = removeContained(onSet);
+        List<Term> dcCover = removeContained(dontCares);
+
+        // The off-set is everything outside the on-set and the don't-cares; null if too large
+        List<Term> onAndDc = new ArrayList<>(cover);
+        onAndDc.addAll(dcCover);
+        int offSetLimit = (int) Math.min(OFF_SET_LIMIT, OFF_SET_FACTOR * (long) onAndDc.size() + 1024);
+        List<Term> offSet = complement(onAndDc, numVariables, offSetLimit);
+
+        cover = irredundant(expand(cover, offSet, onAndDc), dcCover);
+        for (int pass = 0; pass < maxPasses; pass++) {
+            List<Term> next = irredundant(expand(reduce(cover, dcCover), offSet, onAndDc), dcCover);
+            if (compareCost(next, cover) >= 0) break;
+            cover = next;
+        }
+        return cover;
+    }
+
+    private static void checkWidth(int numVariables, List<Term> cubes) {
+        if (numVariables < 1 || numVariables > FunctionSpec.MAX_VARIABLES) {
+            throw new IllegalArgumentException("Number of variables must be between 1 and "
+                    + FunctionSpec.MAX_VARIABLES + ": " + numVariables);
+        }
+        for (Term t : cubes) {
+            if (t.getWidth() != numVariables) {
+                throw new IllegalArgumentException("Cube " + t.getBinary() + " does not have " + numVariables + " variables");
+            }
+        }
+    }
+
+// Grows every cube into a prime implicant that does not meet the off-set.
+// Larger cubes go first. Each cube first tries to reach the nearest other cubes of the cover (the smallest
+// cube containing both must still avoid the off-set), then raises its remaining literals one by one.
+// Cubes contained in an expanded cube are dropped.
+// @param cover the cubes to expand
+// @param offSet a cover of the off-set, or null to check containment in onAndDc instead
+// @param onAndDc a cover of the on-set and the don't-cares
+// @return the expanded cover
+    List<Term> expand(List<Term> cover, List<Term> offSet, List<Term> onAndDc) {
+        List<Term> cubes = new ArrayList<>(cover);
+        cubes.sort(Comparator.comparingInt(t -> Long.bitCount(t.getCareMask())));
+        boolean[] covered = new boolean[cubes.size()];
+        List<Term> expanded = new ArrayList<>();
+
+        for (int i = 0; i < cubes.size(); i++) {
+            if (covered[i]) continue;
+            Term cube = cubes.get(i);
+            long value = cube.getValue();
+            long keep = cube.getCareMask();
+            ExpansionCheck check = offSet != null ? new BlockingMatrix(cube, offSet)
+                    : kept -> isCovered(new Term(value, kept, cube.getWidth()), onAndDc);
+
+            // Try to merge with the closest uncovered cubes first
+            List<Integer> others = new ArrayList<>();
+            for (int j = i + 1; j < cubes.size(); j++) {
+                if (!covered[j]) others.add(j);
+            }
+            others.sort(Comparator.comparingInt(j -> distance(cube, cubes.get(j))));
+            for (int j : others) {
+                Term other = cubes.get(j);
+                long merged = keep & other.getCareMask() & ~(value ^ other.getValue());
+                if (merged != keep && check.allows(merged)) keep = merged;
+            }
+
+            // Raise the remaining literals while the cube stays off the off-set
+            for (long fixed = keep; fixed != 0; fixed &= fixed - 1) {
+                long raised = keep & ~Long.lowestOneBit(fixed);
+                if (check.allows(raised)) keep = raised;
+            }
+
+            Term grown = new Term(value, keep, cube.getWidth());
+            for (int j = i + 1; j < cubes.size(); j++) {
+                if (!covered[j] && grown.contains(cubes.get(j))) covered[j] = true;
+            }
+            expanded.add(grown);
+        }
+        return removeContained(expanded);
+    }
+
+// Decides whether a cube, grown by keeping only some of its literals, still lies inside the on-set and
+// the don't-cares.
+    private interface ExpansionCheck {
+        boolean allows(long keep);
+    }
+
+// The blocking matrix of a cube: for each off-set cube, the literals of the cube that conflict with it.
+// The cube grown by keeping only some of its literals still avoids the off-set if it keeps a literal of
+// every row. Rows with a single literal make that literal required, which also satisfies every other row
+// containing it, so only rows without a required literal are kept for the per-attempt scan.
+    private static final class BlockingMatrix implements ExpansionCheck {
+        private final long required;
+        private final long[] rows;
+
+        BlockingMatrix(Term cube, List<Term> offSet) {
+            long[] all = new long[offSet.size()];
+            long required = 0;
+            for (int k = 0; k < all.length; k++) {
+                Term off = offSet.get(k);
+                all[k] = (cube.getValue() ^ off.getValue()) & cube.getCareMask() & off.getCareMask();
+                if (Long.bitCount(all[k]) == 1) required |= all[k];
+            }
+            this.required = required;
+
+            int count = 0;
+            for (long row : all) {
+                if ((row & required) == 0) all[count++] = row;
+            }
+            this.rows = Arrays.copyOf(all, count);
+        }
+
+// Checks that a set of kept literals meets every row.
+// A row that blocks is moved to the front, since it is likely to block the next attempt too.
+        @Override
+        public boolean allows(long keep) {
+            if ((keep & required) != required) return false;
+            for (int k = 0; k < rows.length; k++) {
+                if ((rows[k] & keep) == 0) {
+                    long row = rows[k];
+                    rows[k] = rows[0];
+                    rows[0] = row;
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+// Removes cubes covered by the rest of the cover together with the don't-cares.
+// Smaller cubes are tried first, since they are the most likely to be redundant.
+// @param cover the cubes of the cover
+// @param dontCares a cover of the don't-care set
+// @return an irredundant cover
+    List<Term> irredundant(List<Term> cover, List<Term> dontCares) {
+        List<Term> kept = new ArrayList<>(cover);
+        kept.sort(Comparator.comparingInt((Term t) -> Long.bitCount(t.getCareMask())).reversed());
+
+        for (int i = 0; i < kept.size(); ) {
+            Term cube = kept.get(i);
+            List<Term> rest = new ArrayList<>(kept.size() - 1 + dontCares.size());
+            for (int j = 0; j < kept.size(); j++) {
+                if (j != i) rest.add(kept.get(j));
+            }
+            rest.addAll(dontCares);
+
+            if (isCovered(cube, rest)) {
+                kept.remove(i);
+            } else {
+                i++;
+            }
+        }
+        return kept;
+    }
+
+// Shrinks every cube to the smallest cube containing the minterms that only it covers.
+// Larger cubes go first; each later cube is reduced against the already reduced ones.
+// Cubes entirely covered by the others are dropped.
+// @param cover the cubes of the cover
+// @param dontCares a cover of the don't-care set
+// @return the reduced cover
+    List<Term> reduce(List<Term> cover, List<Term> dontCares) {
+        List<Term> cubes = new ArrayList<>(cover);
+        cubes.sort(Comparator.comparingInt(t -> Long.bitCount(t.getCareMask())));
+
+        for (int i = 0; i < cubes.size(); ) {
+            Term cube = cubes.get(i);
+            List<Term> rest = new ArrayList<>(cubes.size() - 1 + dontCares.size());
+            for (int j = 0; j < cubes.size(); j++) {
+                if (j != i) rest.add(cubes.get(j));
+            }
+            rest.addAll(dontCares);
+
+            // The smallest cube containing the part of the cube outside the other cubes
+            long free = ~cube.getCareMask() & Term.fullMask(cube.getWidth());
+            Term bound = complementSupercube(cofactor(rest, cube), free, cube.getWidth());
+            if (bound == null) {
+                cubes.remove(i);
+                continue;
+            }
+            cubes.set(i, new Term(cube.getValue() | bound.getValue(), cube.getCareMask() | bound.getCareMask(),
+                    cube.getWidth()));
+            i++;
+        }
+        return cubes;
+    }
+
+// Computes a cover of the complement of a cover by recursive Shannon expansion.
+// @param cover the cubes to complement
+// @param width the number of variables
+// @param limit the largest number of cubes to build
+// @return cubes covering exactly the minterms outside the cover, or null if more than limit are needed
+    static List<Term> complement(List<Term> cover, int width, int limit) {
+        if (cover.isEmpty()) return List.of(new Term(0, 0, width));
+        for (Term t : cover) {
+            if (t.getCareMask() == 0) return List.of();
+        }
+
+        // De Morgan for a single cube: one cube per negated literal
+        if (cover.size() == 1) {
+            Term cube = cover.get(0);
+            List<Term> result = new ArrayList<>();
+            long fixed = cube.getCareMask();
+            while (fixed != 0) {
+                long bit = Long.lowestOneBit(fixed);
+                fixed &= fixed - 1;
+                result.add(new Term(~cube.getValue() & bit, bit, width));
+            }
+            return result.size() > limit ? null : result;
+        }
+
+        long bit = splittingBit(cover);
+        List<Term> low = complement(cofactor(cover, bit, 0), width, limit);
+        if (low == null) return null;
+        List<Term> high = complement(cofactor(cover, bit, bit), width, limit);
+        if (high == null || low.size() + high.size() > 2L * limit) return null;
+
+        // Cubes found on both sides do not depend on the splitting variable. Each half is already free of
+        // contained cubes, and cubes of different halves are disjoint once the literal is added, so only
+        // containment in one of the shared cubes has to be checked.
+        Set<Term> both = new LinkedHashSet<>(low);
+        both.retainAll(new HashSet<>(high));
+        List<Term> result = new ArrayList<>(low.size() + high.size());
+        result.addAll(both);
+        for (Term t : low) {
+            if (!both.contains(t) && !containedInAny(t, both)) {
+                result.add(new Term(t.getValue(), t.getCareMask() | bit, width));
+            }
+        }
+        for (Term t : high) {
+            if (!both.contains(t) && !containedInAny(t, both)) {
+                result.add(new Term(t.getValue() | bit, t.getCareMask() | bit, width));
+            }
+        }
+        return result.size() > limit ? null : result;
+    }
+
+// Finds the smallest cube containing the complement of a cover, without building the complement.
+// Splits on a variable like complement(), but as soon as one half's bound has no literals left, the bound
+// of the whole is decided by whether the other half is empty. A unate cover needs no splitting: the point
+// opposite every literal is outside it, and so is each neighbor of that point, except across a literal that
+// forms a cube on its own, so the bound fixes exactly the variables of the single-literal cubes.
+// @param cover cubes that fix none of the variables outside the space
+// @param space the mask of variables the cover ranges over
+// @param width the number of variables
+// @return the smallest cube containing the complement within the space, or null if the complement is empty
+    static Term complementSupercube(List<Term> cover, long space, int width) {
+        Term universe = new Term(0, 0, width);
+        if (cover.isEmpty()) return universe;
+        for (Term t : cover) {
+            if (t.getCareMask() == 0) return null;
+        }
+        long bit = binateBit(cover);
+        if (bit == 0) {
+            long value = 0;
+            long careMask = 0;
+            for (Term t : cover) {
+                if (Long.bitCount(t.getCareMask()) == 1) {
+                    careMask |= t.getCareMask();
+                    value |= ~t.getValue() & t.getCareMask();
+                }
+            }
+            return new Term(value, careMask, width);
+        }
+
+        List<Term> high = cofactor(cover, bit, bit);
+        Term low = complementSupercube(cofactor(cover, bit, 0), space & ~bit, width);
+        if (low != null && low.getCareMask() == 0) {
+            return isTautology(high, space & ~bit) ? new Term(0, bit, width) : universe;
+        }
+
+        Term highBound = complementSupercube(high, space & ~bit, width);
+        if (low == null) {
+            return highBound == null ? null : new Term(highBound.getValue() | bit, highBound.getCareMask() | bit, width);
+        }
+        if (highBound == null) return new Term(low.getValue(), low.getCareMask() | bit, width);
+        return supercube(low, highBound);
+    }
+
+    private static boolean containedInAny(Term cube, Collection<Term> cover) {
+        for (Term t : cover) {
+            if (t.contains(cube)) return true;
+        }
+        return false;
+    }
+
+// Checks whether every minterm of a cube lies in a cover.
+// The cubes meeting it must add up to at least its size, which rules out most cubes before the cofactor
+// is built.
+    static boolean isCovered(Term cube, List<Term> cover) {
+        long space = ~cube.getCareMask() & Term.fullMask(cube.getWidth());
+        double total = 0;
+        for (Term t : cover) {
+            if (t.intersects(cube)) total += Math.scalb(1.0, Long.bitCount(space & ~t.getCareMask()));
+        }
+        if (total < Math.scalb(1.0, Long.bitCount(space))) return false;
+        return isTautology(cofactor(cover, cube), space);
+    }
+
+// Checks whether a cover contains every combination of the given free variables.
+// @param cover cubes that fix none of the variables outside the space
+// @param space the mask of variables the cover ranges over
+// @return true if the cover is a tautology over the space
+    static boolean isTautology(List<Term> cover, long space) {
+        if (cover.isEmpty()) return false;
+
+        // The cubes must add up to at least the whole space
+        double total = 0;
+        for (Term t : cover) {
+            if (t.getCareMask() == 0) return true;
+            total += Math.scalb(1.0, Long.bitCount(space & ~t.getCareMask()));
+        }
+        if (total < Math.scalb(1.0, Long.bitCount(space))) return false;
+
+        // A unate cover without the universal cube is never a tautology
+        long bit = binateBit(cover);
+        if (bit == 0) return false;
+        return isTautology(cofactor(cover, bit, 0), space & ~bit) && isTautology(cofactor(cover, bit, bit), space & ~bit);
+    }
+
+// Restricts a cover to the part inside a cube: keeps the cubes meeting it and frees the cube's fixed bits.
+    static List<Term> cofactor(List<Term> cover, Term cube) {
+        List<Term> result = new ArrayList<>(cover.size());
+        long free = ~cube.getCareMask();
+        for (Term t : cover) {
+            if (t.intersects(cube)) {
+                result.add(new Term(t.getValue() & free, t.getCareMask() & free, t.getWidth()));
+            }
+        }
+        return result;
+    }
+
+// Restricts a cover to one level of a single variable.
+    private static List<Term> cofactor(List<Term> cover, long bit, long level) {
+        return cofactor(cover, new Term(level, bit, cover.get(0).getWidth()));
+    }
+
+// Picks the variable to split on: the binate variable fixed in the most cubes, or else the most fixed one.
+    private static long splittingBit(List<Term> cover) {
+        long binate = binateBit(cover);
+        if (binate != 0) return binate;
+
+        int[] counts = new int[64];
+        for (Term t : cover) {
+            for (long m = t.getCareMask(); m != 0; m &= m - 1) counts[Long.numberOfTrailingZeros(m)]++;
+        }
+        int best = 0;
+        for (int i = 1; i < 64; i++) {
+            if (counts[i] > counts[best]) best = i;
+        }
+        return 1L << best;
+    }
+
+// @return the binate variable (fixed at 0 in some cube and at 1 in another) fixed in the most cubes, or 0
+    private static long binateBit(List<Term> cover) {
+        long zeros = 0;
+        long ones = 0;
+        for (Term t : cover) {
+            zeros |= t.getCareMask() & ~t.getValue();
+            ones |= t.getValue();
+        }
+        long binate = zeros & ones;
+        if (binate == 0) return 0;
+
+        // Count every binate variable in one pass over the cover
+        int[] counts = new int[64];
+        for (Term t : cover) {
+            for (long m = t.getCareMask() & binate; m != 0; m &= m - 1) counts[Long.numberOfTrailingZeros(m)]++;
+        }
+        int best = Long.numberOfTrailingZeros(binate);
+        for (long m = binate; m != 0; m &= m - 1) {
+            int i = Long.numberOfTrailingZeros(m);
+            if (counts[i] > counts[best]) best = i;
+        }
+        return 1L << best;
+    }
+
+// Drops duplicate cubes and cubes contained in another cube of the list.
+    static List<Term> removeContained(List<Term> cubes) {
+        List<Term> sorted = new ArrayList<>(new LinkedHashSet<>(cubes));
+        sorted.sort(Comparator.comparingInt(t -> Long.bitCount(t.getCareMask())));
+
+        List<Term> kept = new ArrayList<>();
+        for (Term t : sorted) {
+            boolean contained = false;
+            for (Term k : kept) {
+                if (k.contains(t)) {
+                    contained = true;
+                    break;
+                }
+            }
+            if (!contained) kept.add(t);
+        }
+        return kept;
+    }
+
+// @return the smallest cube containing both cubes
+    private static Term supercube(Term a, Term b) {
+        long careMask = a.getCareMask() & b.getCareMask() & ~(a.getValue() ^ b.getValue());
+        return new Term(a.getValue(), careMask, a.getWidth());
+    }
+
+// @return the number of literals that must be raised for a to contain b
+    private static int distance(Term a, Term b) {
+        return Long.bitCount(a.getCareMask() & ~(b.getCareMask() & ~(a.getValue() ^ b.getValue())));
+    }
+
+// Orders covers by number of terms, then by number of literals.
+    private static int compareCost(List<Term> a, List<Term> b) {
+        if (a.size() != b.size()) return Integer.compare(a.size(), b.size());
+        return Long.compare(literalCount(a), literalCount(b));
+    }
+
+    private static long literalCount(List<Term> cover) {
+        long count = 0;
+        for (Term t : cover) count += Long.bitCount(t.getCareMask());
+        return count;
+    }
+}
@@ -21,4 +21,13 @@ public class ExpressionBuilder {
                 .filter(expr -> !expr.isEmpty())
                 .collect(Collectors.joining(" + "));
     }
+
+// Builds the cube list of a cover, e.g. "0--1 -01".
+// @param terms the list of simplified logic terms
+// @return the cubes in '-' notation separated by spaces, or an empty string for an empty cover
+    public static String buildCubes(List<Term> terms) {
+        return terms.stream()
+                .map(Term::getBinary)
+                .collect(Collectors.joining(" "));
+    }
 }
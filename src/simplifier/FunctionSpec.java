@@ -0,0 +1,145 @@
+package simplifier;
+
+import java.util.*;
+
+// An incompletely specified Boolean function: the number of variables, its minterms and its don't-cares.
+// The text form used by the command line is "[<variables>:] <minterms> [| <don't-cares>]",
+// for example "4: 1 3 5 7 | 2 6". Without a variable count, it is derived from the largest number.
+// Minterms are ints, so they are below 2^31 whatever the variable count: a function of more than 31
+// variables can only list minterms whose higher variables are all 0. Functions that need the whole space of
+// up to 64 variables are given as cubes (see Pla and EspressoSimplifier.simplifyCubes).
+public final class FunctionSpec {
+
+    // Largest supported number of variables (cubes are packed into a long)
+    public static final int MAX_VARIABLES = 64;
+
+    // Largest number of variables whose every minterm fits in an int
+    public static final int MAX_INT_VARIABLES = 31;
+
+    private final int numVariables;
+    private final List<Integer> minterms;
+    private final List<Integer> dontCares;
+
+// Creates a function with an explicit number of variables.
+// @param numVariables the number of variables (1 to 64)
+// @param minterms the minterms, each below 2^numVariables
+// @param dontCares the don't-cares, each below 2^numVariables
+// @throws IllegalArgumentException if the variable count or any number is out of range
+    public FunctionSpec(int numVariables, List<Integer> minterms, List<Integer> dontCares) {
+        validate(numVariables, minterms, dontCares);
+        this.numVariables = numVariables;
+        this.minterms = List.copyOf(minterms);
+        this.dontCares = List.copyOf(dontCares);
+    }
+
+// Creates a function whose number of variables is derived from the largest minterm or don't-care.
+// @param minterms the minterms
+// @param dontCares the don't-cares
+    public FunctionSpec(List<Integer> minterms, List<Integer> dontCares) {
+        this(variableCount(minterms, dontCares), minterms, dontCares);
+    }
+
+// Parses the text form "[<variables>:] <minterms> [| <don't-cares>]".
+// @param text the function
+// @return the parsed function
+// @throws IllegalArgumentException (or NumberFormatException) if the text is malformed or out of range
+    public static FunctionSpec parse(String text) {
+        String body = text.trim();
+        Integer numVariables = null;
+
+        int colon = body.indexOf(':');
+        if (colon >= 0) {
+            numVariables = Integer.parseInt(body.substring(0, colon).trim());
+            body = body.substring(colon + 1);
+        }
+
+        String[] parts = body.split("\\|", -1);
+        if (parts.length > 2) {
+            throw new IllegalArgumentException("Use | only once, before the don't-cares");
+        }
+
+        List<Integer> minterms = parseNumbers(parts[0]);
+        List<Integer> dontCares = parts.length > 1 ? parseNumbers(parts[1]) : List.of();
+        return numVariables == null
+                ? new FunctionSpec(minterms, dontCares)
+                : new FunctionSpec(numVariables, minterms, dontCares);
+    }
+
+// Calculates the number of variables needed for the largest minterm or don't-care (at least 1).
+    public static int variableCount(List<Integer> minterms, List<Integer> dontCares) {
+        int max = 0;
+        for (int m : minterms) max = Math.max(max, m);
+        for (int d : dontCares) max = Math.max(max, d);
+        return Integer.toBinaryString(max).length();
+    }
+
+// Checks that the variable count is supported and every number fits in it.
+// @throws IllegalArgumentException if the variable count or any number is out of range
+    public static void validate(int numVariables, List<Integer> minterms, List<Integer> dontCares) {
+        if (numVariables < 1 || numVariables > MAX_VARIABLES) {
+            throw new IllegalArgumentException(
+                    "The number of variables must be between 1 and " + MAX_VARIABLES + ": " + numVariables);
+        }
+        checkRange(numVariables, minterms, "Minterm");
+        checkRange(numVariables, dontCares, "Don't-care");
+    }
+
+    public int getNumVariables() {
+        return numVariables;
+    }
+
+    public List<Integer> getMinterms() {
+        return minterms;
+    }
+
+    public List<Integer> getDontCares() {
+        return dontCares;
+    }
+
+    private static void checkRange(int numVariables, List<Integer> numbers, String kind) {
+        for (int m : numbers) {
+            if (m < 0 || (numVariables < MAX_INT_VARIABLES && m >= 1 << numVariables)) {
+                throw new IllegalArgumentException(kind + " " + m + " does not fit in " + numVariables + " variables");
+            }
+        }
+    }
+
+// Parses a whitespace-separated list of non-negative integers.
+    private static List<Integer> parseNumbers(String text) {
+        List<Integer> numbers = new ArrayList<>();
+        String trimmed = text.trim();
+        if (trimmed.isEmpty()) return numbers;
+
+        for (String token : trimmed.split("\\s+")) {
+            int m = Integer.parseInt(token);
+            if (m < 0) throw new NumberFormatException("Negative number: " + m);
+            numbers.add(m);
+        }
+        return numbers;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof FunctionSpec spec) {
+            return numVariables == spec.numVariables && minterms.equals(spec.minterms)
+                    && dontCares.equals(spec.dontCares);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(numVariables, minterms, dontCares);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder().append(numVariables).append(':');
+        for (int m : minterms) text.append(' ').append(m);
+        if (!dontCares.isEmpty()) {
+            text.append(" |");
+            for (int d : dontCares) text.append(' ').append(d);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,77 @@
+package simplifier;
+
+import java.util.*;
+
+// A Quine–McCluskey variant that finds merge partners by hash lookup instead of pairwise comparison.
+// Every term that can combine with a term t differs from it in exactly one fixed bit, so the partners of t
+// are among its single-bit flips and can be probed in a cube table in O(n) per term.
+// Essential detection and covering are inherited from QuineMcCluskeySimplifier.
+// This is the better choice for dense functions, where the buckets of the tabular method grow large.
+public class HashProbeSimplifier extends QuineMcCluskeySimplifier {
+
+// Finds all prime implicants by iteratively combining each term with its single-bit neighbors.
+// @param terms the initial terms
+// @param metrics receives one COMBINATION_ROUND stage per round
+// @param budget checked every 256 terms against the time limit, and against the size of the next round
+// @return the prime implicants
+    @Override
+    protected List<Term> findPrimeImplicants(List<Term> terms, SimplificationMetrics metrics, BudgetTracker budget) {
+        SimplificationContext context = SimplificationContext.acquire();
+        try {
+            return findPrimeImplicants(terms, metrics, budget, context);
+        } finally {
+            context.release();
+        }
+    }
+
+// Runs the combination rounds in the two cube tables of a context, alternating between them.
+    private List<Term> findPrimeImplicants(List<Term> terms, SimplificationMetrics metrics, BudgetTracker budget,
+                                           SimplificationContext context) {
+        CubeTable current = context.cubeTable(0);
+        for (Term t : terms) current.add(t);
+        List<Term> primes = new ArrayList<>();
+
+        int round = 0;
+        while (current.size() > 0) {
+            metrics.beginRound(current.terms());
+            CubeTable next = context.cubeTable(++round % 2);
+            long probes = 0;
+
+            // Positions in current of the terms that combined with another term
+            List<Term> roundTerms = current.terms();
+            BitSet combined = new BitSet(roundTerms.size());
+            for (int i = 0; i < roundTerms.size(); i++) {
+                Term t = roundTerms.get(i);
+                if (((i + 1) & 255) == 0) budget.checkTime();
+
+                // Only flip 0 bits to 1, so every pair is found once (from its lower member)
+                long zeros = t.getCareMask() & ~t.getValue();
+                while (zeros != 0) {
+                    long bit = Long.lowestOneBit(zeros);
+                    zeros &= zeros - 1;
+                    probes++;
+
+                    int partner = current.positionOf(t.getValue() | bit, t.getCareMask());
+                    if (partner < 0) continue;
+
+                    combined.set(i);
+                    combined.set(partner);
+                    if (next.get(t.getValue(), t.getCareMask() & ~bit) == null) {
+                        next.add(t.combineWith(roundTerms.get(partner)));
+                        budget.checkTerms(next.size());
+                    }
+                }
+            }
+
+            // Terms that combined with nothing are prime implicants
+            for (int i = combined.nextClearBit(0); i < roundTerms.size(); i = combined.nextClearBit(i + 1)) {
+                primes.add(roundTerms.get(i));
+            }
+
+            current = next;
+            metrics.endRound(current.size(), probes);
+        }
+
+        return primes;
+    }
+}
@@ -0,0 +1,170 @@
+package simplifier;
+
+import java.util.*;
+
+// Minimal JSON parser for the request bodies of SimplificationServer.
+// Objects become LinkedHashMaps, arrays ArrayLists, strings Strings, true and false Booleans, and null null.
+// Only integer numbers are accepted; they become Longs.
+// Objects and arrays may be nested MAX_DEPTH deep, so a hostile body cannot overflow the stack.
+final class JsonReader {
+
+    // Deepest nesting of objects and arrays accepted
+    static final int MAX_DEPTH = 64;
+
+    private final String text;
+    private int pos;
+    private int depth;
+
+    private JsonReader(String text) {
+        this.text = text;
+    }
+
+// Parses a complete JSON document.
+// @param text the document
+// @return the value it holds
+// @throws IllegalArgumentException if the text is not valid JSON, holds a non-integer number or nests objects
+// and arrays deeper than MAX_DEPTH
+    static Object parse(String text) {
+        JsonReader reader = new JsonReader(text);
+        Object value = reader.value();
+        reader.skipWhitespace();
+        if (reader.pos < text.length()) throw reader.error("Unexpected text after the value");
+        return value;
+    }
+
+    private Object value() {
+        skipWhitespace();
+        if (pos >= text.length()) throw error("Unexpected end of input");
+        char c = text.charAt(pos);
+        return switch (c) {
+            case '{', '[' -> {
+                if (++depth > MAX_DEPTH) throw error("nesting too deep");
+                Object nested = c == '{' ? object() : array();
+                depth--;
+                yield nested;
+            }
+            case '"' -> string();
+            case 't' -> literal("true", Boolean.TRUE);
+            case 'f' -> literal("false", Boolean.FALSE);
+            case 'n' -> literal("null", null);
+            default -> {
+                if (c == '-' || (c >= '0' && c <= '9')) yield number();
+                throw error("Unexpected character '" + c + "'");
+            }
+        };
+    }
+
+    private Map<String, Object> object() {
+        Map<String, Object> object = new LinkedHashMap<>();
+        pos++;
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+            return object;
+        }
+        while (true) {
+            skipWhitespace();
+            if (peek() != '"') throw error("Expected a field name");
+            String name = string();
+            skipWhitespace();
+            expect(':');
+            object.put(name, value());
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+                return object;
+            }
+            expect(',');
+        }
+    }
+
+    private List<Object> array() {
+        List<Object> array = new ArrayList<>();
+        pos++;
+        skipWhitespace();
+        if (peek() == ']') {
+            pos++;
+            return array;
+        }
+        while (true) {
+            array.add(value());
+            skipWhitespace();
+            if (peek() == ']') {
+                pos++;
+                return array;
+            }
+            expect(',');
+        }
+    }
+
+    private String string() {
+        StringBuilder result = new StringBuilder();
+        pos++;
+        while (true) {
+            if (pos >= text.length()) throw error("Unterminated string");
+            char c = text.charAt(pos++);
+            if (c == '"') return result.toString();
+            if (c != '\\') {
+                result.append(c);
+                continue;
+            }
+            if (pos >= text.length()) throw error("Unterminated string");
+            char escape = text.charAt(pos++);
+            switch (escape) {
+                case '"', '\\', '/' -> result.append(escape);
+                case 'b' -> result.append('\b');
+                case 'f' -> result.append('\f');
+                case 'n' -> result.append('\n');
+                case 'r' -> result.append('\r');
+                case 't' -> result.append('\t');
+                case 'u' -> {
+                    if (pos + 4 > text.length()) throw error("Truncated \\u escape");
+                    try {
+                        result.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("Invalid \\u escape");
+                    }
+                    pos += 4;
+                }
+                default -> throw error("Invalid escape \\" + escape);
+            }
+        }
+    }
+
+    private Long number() {
+        int start = pos;
+        if (peek() == '-') pos++;
+        while (pos < text.length() && Character.isDigit(text.charAt(pos))) pos++;
+        char next = peek();
+        if (next == '.' || next == 'e' || next == 'E') throw error("Only integers are accepted");
+        try {
+            return Long.parseLong(text.substring(start, pos));
+        } catch (NumberFormatException e) {
+            throw error("Invalid number " + text.substring(start, pos));
+        }
+    }
+
+    private Object literal(String word, Object value) {
+        if (!text.startsWith(word, pos)) throw error("Unexpected character '" + text.charAt(pos) + "'");
+        pos += word.length();
+        return value;
+    }
+
+    private void expect(char c) {
+        if (peek() != c) throw error("Expected '" + c + "'");
+        pos++;
+    }
+
+// @return the current character, or 0 at the end of the input
+    private char peek() {
+        return pos < text.length() ? text.charAt(pos) : 0;
+    }
+
+    private void skipWhitespace() {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) pos++;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at offset " + pos);
+    }
+}
@@ -1,16 +1,96 @@
 package simplifier;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.*;
 
 // Entry point of the program. Handles user input, runs the simplifier, and prints the final simplified logic expression.
 public class MainClass {
 
+    private static final String USAGE =
+            "Usage: MainClass [--vars <count>] [--stream [<file>]] | --serve [<port>] | --pla [<file>]";
+    // Port of the server mode when none is given
+    private static final int DEFAULT_PORT = 8080;
+    // Functions kept by the cache of the server and streaming modes
+    private static final int CACHE_ENTRIES = 10_000;
+    // Output buffer of the streaming mode, in characters
+    private static final int STREAM_BUFFER = 1 << 16;
+
     public static void main(String[] args) {
         Scanner scanner = new Scanner(System.in);
 
+// Optional fixed number of variables: --vars <count>; streaming mode: --stream [<file>];
+// server mode: --serve [<port>]; or PLA minimization: --pla [<file>]
+        Integer numVariables = null;
+        Integer servePort = null;
+        boolean stream = false;
+        String streamFile = null;
+        boolean pla = false;
+        String plaFile = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--vars") && i + 1 < args.length) {
+                try {
+                    numVariables = Integer.parseInt(args[++i]);
+                } catch (NumberFormatException e) {
+                    System.out.println("The number of variables must be an integer!");
+                    return;
+                }
+            } else if (args[i].equals("--stream")) {
+                stream = true;
+                if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                    streamFile = args[++i];
+                }
+            } else if (args[i].equals("--pla")) {
+                pla = true;
+                if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                    plaFile = args[++i];
+                }
+            } else if (args[i].equals("--serve")) {
+                servePort = DEFAULT_PORT;
+                if (i + 1 < args.length && args[i + 1].matches("\\d+")) {
+                    servePort = Integer.parseInt(args[++i]);
+                }
+            } else {
+                System.out.println(USAGE);
+                return;
+            }
+        }
+        if (pla) {
+            if (numVariables != null || stream || servePort != null) {
+                System.out.println(USAGE);
+                return;
+            }
+            try {
+                minimizePla(plaFile);
+            } catch (IOException e) {
+                System.err.println("Cannot read " + (plaFile == null ? "the input" : plaFile) + ": " + e);
+            } catch (IllegalArgumentException e) {
+                System.err.println(e.getMessage() + "!");
+            }
+            return;
+        }
+        if (servePort != null) {
+            if (numVariables != null || stream) {
+                System.out.println(USAGE);
+                return;
+            }
+            serve(servePort);
+            return;
+        }
+        if (stream) {
+            try {
+                stream(streamFile, numVariables);
+            } catch (IOException | UncheckedIOException e) {
+                System.err.println("Streaming stopped: " + e);
+            }
+            return;
+        }
+
 // Welcome message
         System.out.println("Welcome to the logic circuit simplification program!");
-        System.out.println("Enter the minterms with a space:");
+        System.out.println("Enter the minterms with a space (optionally followed by | and the don't-cares):");
 
 // Read input line and split by whitespace
         String input = scanner.nextLine().trim();
@@ -19,24 +99,24 @@ public class MainClass {
             return;
         }
 
-        String[] tokens = input.split("\\s+");
-        List<Integer> minterms = new ArrayList<>();
-
-// Parse and validate input tokens
+// Parse and validate the function ("[<variables>:] <minterms> [| <don't-cares>]")
+        FunctionSpec function;
         try {
-            for (String token : tokens) {
-                int m = Integer.parseInt(token);
-                if (m < 0) throw new NumberFormatException();
-                minterms.add(m);
+            function = FunctionSpec.parse(input);
+            if (numVariables != null) {
+                function = new FunctionSpec(numVariables, function.getMinterms(), function.getDontCares());
             }
         } catch (NumberFormatException e) {
             System.out.println("Please enter only positive integers!");
             return;
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage() + "!");
+            return;
         }
 
 // Instantiate the simplifier (QM)
         Simplifier simplifier = new QuineMcCluskeySimplifier();
-        List<Term> simplified = simplifier.simplify(minterms);
+        List<Term> simplified = simplifier.simplify(function);
 
 // Convert simplified terms to string expression
         String expression = ExpressionBuilder.buildSOP(simplified);
@@ -45,4 +125,116 @@ public class MainClass {
         System.out.println("Simplified expression:");
         System.out.println(expression);
     }
+
+// Runs the simplification server until the process is stopped. Its dispatcher thread keeps the JVM alive.
+// @param port the loopback port to listen on
+    private static void serve(int port) {
+        Simplifier simplifier = new CachingSimplifier(new AutoSimplifier(), CACHE_ENTRIES);
+        SimplificationServer server = new SimplificationServer(simplifier, Runtime.getRuntime().availableProcessors());
+        try {
+            int bound = server.start(port);
+            System.out.println("Serving on http://127.0.0.1:" + bound + "/simplify (metrics at /metrics)");
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Cannot listen on port " + port + ": " + e.getMessage());
+        }
+    }
+
+// Simplifies one function per input line and writes one line per function, in input order:
+// the SOP expression, a tab and the cubes, or "error: <message>" for a line that cannot be simplified.
+// Blank lines are copied through, so output line k always answers input line k. Functions are simplified on
+// one thread per processor, with a bounded number in flight, so any length of input runs in bounded memory.
+// @param file the file to read, or null for standard input
+// @param numVariables the number of variables of every function, or null to read it from each line
+    private static void stream(String file, Integer numVariables) throws IOException {
+        Simplifier simplifier = new CachingSimplifier(new AutoSimplifier(), CACHE_ENTRIES);
+        // Output lines of blank and malformed input, each with the number of functions read before it
+        Deque<Map.Entry<Integer, String>> skipped = new ArrayDeque<>();
+
+        try (BufferedReader in = file == null
+                     ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                     : Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8);
+             BatchSimplifier batch = new BatchSimplifier(() -> simplifier,
+                     Runtime.getRuntime().availableProcessors())) {
+            Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), STREAM_BUFFER);
+            Iterator<String> lines = in.lines().iterator();
+            // Parse lines on the calling thread; lines that are not functions only leave their output behind
+            Iterator<FunctionSpec> functions = new Iterator<>() {
+                private FunctionSpec next;
+                private int parsed;
+
+                @Override
+                public boolean hasNext() {
+                    while (next == null && lines.hasNext()) {
+                        String line = lines.next().trim();
+                        if (line.isEmpty()) {
+                            skipped.add(Map.entry(parsed, ""));
+                            continue;
+                        }
+                        try {
+                            FunctionSpec function = FunctionSpec.parse(line);
+                            next = numVariables == null ? function
+                                    : new FunctionSpec(numVariables, function.getMinterms(), function.getDontCares());
+                            parsed++;
+                        } catch (IllegalArgumentException e) {
+                            skipped.add(Map.entry(parsed, "error: " + e.getMessage()));
+                        }
+                    }
+                    return next != null;
+                }
+
+                @Override
+                public FunctionSpec next() {
+                    if (!hasNext()) throw new NoSuchElementException();
+                    FunctionSpec function = next;
+                    next = null;
+                    return function;
+                }
+            };
+
+            try {
+                batch.forEachOrdered(functions, result -> {
+                    try {
+                        writeSkipped(out, skipped, result.index());
+                        if (result.isSuccess()) {
+                            out.write(ExpressionBuilder.buildSOP(result.terms()));
+                            out.write('\t');
+                            out.write(ExpressionBuilder.buildCubes(result.terms()));
+                        } else {
+                            out.write("error: " + result.error().getMessage());
+                        }
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writeSkipped(out, skipped, Integer.MAX_VALUE);
+            } finally {
+                out.flush();
+            }
+            System.err.println(batch.getStatistics());
+        }
+    }
+
+// Writes the skipped lines that came before a function.
+// @param before the index of the function
+    private static void writeSkipped(Writer out, Deque<Map.Entry<Integer, String>> skipped, int before)
+            throws IOException {
+        while (!skipped.isEmpty() && skipped.peek().getKey() <= before) {
+            out.write(skipped.poll().getValue());
+            out.write('\n');
+        }
+    }
+
+// Minimizes every output of a PLA with Espresso, starting from its cubes, and writes the result as a PLA.
+// @param file the PLA file, or null for standard input
+    private static void minimizePla(String file) throws IOException {
+        Pla input;
+        if (file == null) {
+            input = PlaReader.read(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        } else {
+            input = PlaReader.read(Paths.get(file));
+        }
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), STREAM_BUFFER);
+        PlaWriter.write(out, input.simplify(new EspressoSimplifier()));
+    }
 }
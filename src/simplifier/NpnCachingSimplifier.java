@@ -0,0 +1,220 @@
+package simplifier;
+
+import java.util.*;
+
+// Simplifier decorator that caches covers per NPN class rather than per function, so functions that differ
+// only by permuted or negated inputs, or a negated output, share one cache entry.
+// Each function of up to NpnCanonicalizer.MAX_VARIABLES inputs is mapped to its class representative g;
+// the entry of g holds a cover of g and a cover of not g, each simplified on first use, and a query is
+// answered by mapping the cover of the matching polarity back through the transform. A minimal cover of the
+// representative maps to a minimal cover of the query, since the transform keeps the number of cubes and
+// literals. Output negation changes the function being covered, which is why each polarity has its own cover.
+// Functions with more inputs are passed to the underlying simplifier without caching.
+// At most maxEntries classes are kept; the least recently used one is evicted first.
+// The cache may be shared between threads; two threads missing the same class at once may both compute it.
+public class NpnCachingSimplifier implements Simplifier {
+
+    private final Simplifier simplifier;
+    private final int maxEntries;
+    private final LinkedHashMap<Key, Entry> cache;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long bypassed;
+
+// Creates a cache in front of a simplifier.
+// @param simplifier the simplifier that computes covers on a miss
+// @param maxEntries the largest number of cached classes
+    public NpnCachingSimplifier(Simplifier simplifier, int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1: " + maxEntries);
+        }
+        this.simplifier = Objects.requireNonNull(simplifier);
+        this.maxEntries = maxEntries;
+        // Access order turns the map into an LRU list; the eldest entry is dropped once the map is full
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() <= NpnCachingSimplifier.this.maxEntries) return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+// Returns the cover of a function, mapped from the cached cover of its NPN class when there is one.
+// @param numVariables the number of variables (1 to 64)
+// @param minterms a list of minterms (e.g., 1, 3, 5, 7)
+// @param dontCares a list of don't-care input combinations (e.g., 2, 6)
+// @return a list of simplified Terms
+    @Override
+    public List<Term> simplify(int numVariables, List<Integer> minterms, List<Integer> dontCares) {
+        FunctionSpec.validate(numVariables, minterms, dontCares);
+        if (numVariables > NpnCanonicalizer.MAX_VARIABLES) {
+            synchronized (cache) {
+                bypassed++;
+            }
+            return simplifier.simplify(numVariables, minterms, dontCares);
+        }
+
+        return simplifyCanonical(numVariables, TruthTable.of(numVariables, minterms),
+                TruthTable.of(numVariables, dontCares));
+    }
+
+// Returns the cover of a function given as packed truth tables, mapped from the cached cover of its NPN class
+// when there is one.
+// @param numVariables the number of variables (1 to TruthTable.MAX_VARIABLES)
+// @param onSet the truth table of the minterms
+// @param dontCares the truth table of the don't-cares
+// @return a list of simplified Terms
+    @Override
+    public List<Term> simplifyTruthTable(int numVariables, long[] onSet, long[] dontCares) {
+        TruthTable.validate(numVariables, onSet, "on-set");
+        TruthTable.validate(numVariables, dontCares, "don't-care");
+        if (numVariables > NpnCanonicalizer.MAX_VARIABLES) {
+            synchronized (cache) {
+                bypassed++;
+            }
+            return simplifier.simplifyTruthTable(numVariables, onSet, dontCares);
+        }
+        return simplifyCanonical(numVariables, onSet, dontCares);
+    }
+
+// Looks up the class of a function of at most NpnCanonicalizer.MAX_VARIABLES inputs, simplifying its
+// representative on a miss.
+    private List<Term> simplifyCanonical(int numVariables, long[] onSet, long[] dontCares) {
+        NpnCanonicalizer.Form form = NpnCanonicalizer.canonicalize(numVariables, onSet, dontCares);
+        NpnTransform transform = form.transform();
+        Key key = new Key(numVariables, form.onSet(), form.dontCares());
+        synchronized (cache) {
+            Entry entry = cache.get(key);
+            List<Term> cover = entry == null ? null : entry.cover(transform.outputNegated());
+            if (cover != null) {
+                hits++;
+                return transform.toOriginal(cover);
+            }
+            misses++;
+        }
+
+        // Simplify the representative, or its complement when the output is negated
+        long[] representative = transform.outputNegated()
+                ? offSet(numVariables, form.onSet(), form.dontCares()) : form.onSet();
+        List<Term> cover = List.copyOf(simplifier.simplifyTruthTable(numVariables, representative, form.dontCares()));
+        synchronized (cache) {
+            cache.computeIfAbsent(key, k -> new Entry()).setCover(transform.outputNegated(), cover);
+        }
+        return transform.toOriginal(cover);
+    }
+
+// @return the truth table of the input combinations that are neither minterms nor don't-cares
+    private static long[] offSet(int numVariables, long[] onSet, long[] dontCares) {
+        long valid = TruthTable.validBits(numVariables);
+        long[] off = new long[onSet.length];
+        for (int w = 0; w < off.length; w++) off[w] = ~(onSet[w] | dontCares[w]) & valid;
+        return off;
+    }
+
+// @return the simplifier that computes covers on a miss
+    public Simplifier getSimplifier() {
+        return simplifier;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+// @return the number of cached classes
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+// @return the number of calls served from the cache
+    public long getHits() {
+        synchronized (cache) {
+            return hits;
+        }
+    }
+
+// @return the number of calls that had to simplify a class representative
+    public long getMisses() {
+        synchronized (cache) {
+            return misses;
+        }
+    }
+
+// @return the number of classes dropped to make room for newer ones
+    public long getEvictions() {
+        synchronized (cache) {
+            return evictions;
+        }
+    }
+
+// @return the number of calls with too many variables to canonicalize, passed on without caching
+    public long getBypassed() {
+        synchronized (cache) {
+            return bypassed;
+        }
+    }
+
+// @return the fraction of cacheable calls served from the cache, or 0 if there were none
+    public double getHitRate() {
+        synchronized (cache) {
+            long calls = hits + misses;
+            return calls == 0 ? 0 : (double) hits / calls;
+        }
+    }
+
+// Drops every cached cover and resets the statistics.
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+            hits = 0;
+            misses = 0;
+            evictions = 0;
+            bypassed = 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        synchronized (cache) {
+            return String.format("%d/%d classes cached, %d hits, %d misses, %d evictions, %d bypassed",
+                    cache.size(), maxEntries, hits, misses, evictions, bypassed);
+        }
+    }
+
+// Truth tables of a class representative.
+    private record Key(int numVariables, long[] onSet, long[] dontCares) {
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key other && numVariables == other.numVariables
+                    && Arrays.equals(onSet, other.onSet) && Arrays.equals(dontCares, other.dontCares);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * numVariables + Arrays.hashCode(onSet)) + Arrays.hashCode(dontCares);
+        }
+    }
+
+// Covers of a class representative g and of its complement, each null until first computed.
+    private static final class Entry {
+        private List<Term> cover;
+        private List<Term> complementCover;
+
+        List<Term> cover(boolean complement) {
+            return complement ? complementCover : cover;
+        }
+
+        void setCover(boolean complement, List<Term> terms) {
+            if (complement) {
+                complementCover = terms;
+            } else {
+                cover = terms;
+            }
+        }
+    }
+}
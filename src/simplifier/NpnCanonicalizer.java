@@ -0,0 +1,223 @@
+package simplifier;
+
+import java.util.*;
+
+// Maps an incompletely specified function of up to MAX_VARIABLES inputs to a representative of its NPN class,
+// the functions equal to it up to input permutation, input negation and output negation.
+// Functions are given as truth tables (see TruthTable) of their minterms and don't-cares.
+// The representative is found by normalizing per-variable signatures, which are invariant under the class:
+// - the output is negated if the off-set is smaller than the on-set;
+// - each input is negated if more minterms (then don't-cares) have it at 1 than at 0;
+// - inputs are ordered by the size of their smaller cofactor.
+// Outputs, inputs and groups of inputs the signatures cannot tell apart are resolved by trying every choice
+// and keeping the smallest truth table. When that would take more than MAX_CANDIDATES tries, as for symmetric
+// functions of many inputs, ties are broken by input index instead; the result is then only semi-canonical:
+// always a member of the class, but not the same for every member.
+public final class NpnCanonicalizer {
+
+    // Largest number of inputs canonicalized (a truth table of 1024 bits)
+    public static final int MAX_VARIABLES = 10;
+    // Largest number of tie-breaking transforms tried
+    private static final int MAX_CANDIDATES = 256;
+
+// The representative of a function's class and the transform that leads to it.
+// @param numVariables the number of inputs
+// @param onSet the truth table of the representative's minterms
+// @param dontCares the truth table of the representative's don't-cares
+// @param transform maps the function to the representative
+    public record Form(int numVariables, long[] onSet, long[] dontCares, NpnTransform transform) {
+    }
+
+    private NpnCanonicalizer() {
+    }
+
+// Finds the representative of a function's NPN class.
+// An input combination set in both tables counts as a minterm.
+// @param numVariables the number of inputs (1 to MAX_VARIABLES)
+// @param onSet the truth table of the minterms
+// @param dontCares the truth table of the don't-cares
+// @return the representative and the transform from the function to it
+// @throws IllegalArgumentException if the variable count or a table length is out of range
+    public static Form canonicalize(int numVariables, long[] onSet, long[] dontCares) {
+        if (numVariables < 1 || numVariables > MAX_VARIABLES) {
+            throw new IllegalArgumentException("NPN canonicalization supports 1 to " + MAX_VARIABLES
+                    + " variables: " + numVariables);
+        }
+        int length = TruthTable.length(numVariables);
+        if (onSet.length != length || dontCares.length != length) {
+            throw new IllegalArgumentException("Truth tables of " + numVariables + " variables need " + length + " longs");
+        }
+
+        long valid = TruthTable.validBits(numVariables);
+        long[] on = new long[length];
+        long[] dc = new long[length];
+        long[] off = new long[length];
+        int onCount = 0;
+        int offCount = 0;
+        for (int w = 0; w < length; w++) {
+            on[w] = onSet[w] & valid;
+            dc[w] = dontCares[w] & ~onSet[w] & valid;
+            off[w] = ~(on[w] | dc[w]) & valid;
+            onCount += Long.bitCount(on[w]);
+            offCount += Long.bitCount(off[w]);
+        }
+
+        // Try the output polarity with fewer minterms, or both on a tie
+        Form best = null;
+        if (onCount <= offCount) best = smallest(numVariables, on, dc, false, best);
+        if (offCount <= onCount) best = smallest(numVariables, off, dc, true, best);
+        return best;
+    }
+
+// Tries the input transforms allowed by the signatures of one output polarity.
+// @param on the minterms of the function after the output polarity is applied
+// @param best the smallest form so far, or null
+// @return the smaller of best and the smallest form of this polarity
+    private static Form smallest(int numVariables, long[] on, long[] dc, boolean outputNegated, Form best) {
+        int[] ones = cofactorCounts(numVariables, on);
+        int[] dcOnes = cofactorCounts(numVariables, dc);
+        int onCount = 0;
+        int dcCount = 0;
+        for (int w = 0; w < on.length; w++) {
+            onCount += Long.bitCount(on[w]);
+            dcCount += Long.bitCount(dc[w]);
+        }
+
+        // Fix each input's polarity so the larger cofactor is at 0; remember the ties
+        long negations = 0;
+        long ties = 0;
+        long[] keys = new long[numVariables];
+        for (int i = 0; i < numVariables; i++) {
+            int zeros = onCount - ones[i];
+            int dcZeros = dcCount - dcOnes[i];
+            int order = ones[i] != zeros ? Integer.compare(ones[i], zeros) : Integer.compare(dcOnes[i], dcZeros);
+            if (order > 0) negations |= 1L << i;
+            if (order == 0) ties |= 1L << i;
+            keys[i] = (long) Math.min(ones[i], zeros) << 32 | Math.min(dcOnes[i], dcZeros);
+        }
+
+        // Order the inputs by signature; inputs with equal signatures form a group
+        Integer[] order = new Integer[numVariables];
+        for (int i = 0; i < numVariables; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparingLong(i -> keys[i]));
+        List<int[]> groups = new ArrayList<>();
+        for (int start = 0; start < numVariables; ) {
+            int end = start + 1;
+            while (end < numVariables && keys[order[end]] == keys[order[start]]) end++;
+            int[] group = new int[end - start];
+            for (int k = 0; k < group.length; k++) group[k] = order[start + k];
+            groups.add(group);
+            start = end;
+        }
+
+        long candidates = 1L << Long.bitCount(ties);
+        for (int[] group : groups) {
+            for (int k = 2; k <= group.length && candidates <= MAX_CANDIDATES; k++) candidates *= k;
+        }
+        boolean enumerate = candidates <= MAX_CANDIDATES;
+
+        for (int[] permutation : permutations(groups, numVariables, enumerate)) {
+            long tieChoices = enumerate ? ties : 0;
+            // Walk all subsets of the tied inputs
+            long subset = 0;
+            do {
+                NpnTransform transform = new NpnTransform(permutation, negations | subset, outputNegated);
+                long[] tOn = transformTable(transform, on);
+                long[] tDc = transformTable(transform, dc);
+                if (best == null || compare(tOn, tDc, best.onSet(), best.dontCares()) < 0) {
+                    best = new Form(numVariables, tOn, tDc, transform);
+                }
+                subset = (subset - tieChoices) & tieChoices;
+            } while (subset != 0);
+        }
+        return best;
+    }
+
+// Lists the permutations that keep the groups in order: every ordering within each group if enumerate is set,
+// otherwise only the order of the groups as given.
+// @return the position of each input, one array per permutation
+    private static List<int[]> permutations(List<int[]> groups, int numVariables, boolean enumerate) {
+        List<int[]> result = new ArrayList<>();
+        result.add(new int[numVariables]);
+        int position = 0;
+        for (int[] group : groups) {
+            List<int[]> orderings = enumerate ? orderings(group) : List.of(group);
+            List<int[]> next = new ArrayList<>(result.size() * orderings.size());
+            for (int[] partial : result) {
+                for (int[] ordering : orderings) {
+                    int[] permutation = partial.clone();
+                    for (int k = 0; k < ordering.length; k++) permutation[ordering[k]] = position + k;
+                    next.add(permutation);
+                }
+            }
+            result = next;
+            position += group.length;
+        }
+        return result;
+    }
+
+// @return every ordering of the given inputs
+    private static List<int[]> orderings(int[] items) {
+        List<int[]> result = new ArrayList<>();
+        int[] current = items.clone();
+        Arrays.sort(current);
+        do {
+            result.add(current.clone());
+        } while (nextPermutation(current));
+        return result;
+    }
+
+// Rearranges an array into the next permutation in lexicographic order.
+// @return false if the array was the last permutation
+    private static boolean nextPermutation(int[] a) {
+        int i = a.length - 2;
+        while (i >= 0 && a[i] >= a[i + 1]) i--;
+        if (i < 0) return false;
+        int j = a.length - 1;
+        while (a[j] <= a[i]) j--;
+        int swap = a[i];
+        a[i] = a[j];
+        a[j] = swap;
+        for (int l = i + 1, r = a.length - 1; l < r; l++, r--) {
+            swap = a[l];
+            a[l] = a[r];
+            a[r] = swap;
+        }
+        return true;
+    }
+
+// @return for each input, the number of set bits of the table whose input combination has that input at 1
+    private static int[] cofactorCounts(int numVariables, long[] table) {
+        int[] counts = new int[numVariables];
+        for (int w = 0; w < table.length; w++) {
+            for (long bits = table[w]; bits != 0; bits &= bits - 1) {
+                int x = w << 6 | Long.numberOfTrailingZeros(bits);
+                for (int i = 0; i < numVariables; i++) counts[i] += (x >>> i) & 1;
+            }
+        }
+        return counts;
+    }
+
+// @return the truth table of the function whose input combinations are the transformed ones of the table
+    private static long[] transformTable(NpnTransform transform, long[] table) {
+        long[] result = new long[table.length];
+        for (int w = 0; w < table.length; w++) {
+            for (long bits = table[w]; bits != 0; bits &= bits - 1) {
+                int y = (int) transform.apply(w << 6 | Long.numberOfTrailingZeros(bits));
+                result[y >>> 6] |= 1L << y;
+            }
+        }
+        return result;
+    }
+
+// Compares two functions by their truth tables as unsigned numbers, on-set first.
+    private static int compare(long[] on, long[] dc, long[] otherOn, long[] otherDc) {
+        for (int w = on.length - 1; w >= 0; w--) {
+            if (on[w] != otherOn[w]) return Long.compareUnsigned(on[w], otherOn[w]);
+        }
+        for (int w = dc.length - 1; w >= 0; w--) {
+            if (dc[w] != otherDc[w]) return Long.compareUnsigned(dc[w], otherDc[w]);
+        }
+        return 0;
+    }
+}
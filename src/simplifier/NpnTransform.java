@@ -0,0 +1,96 @@
+package simplifier;
+
+import java.util.*;
+
+// An NPN transform: negation of some inputs, a permutation of the inputs and optionally negation of the output.
+// It relates a function f to a function g by f(x) = g(y) xor outputNegated, where bit permutation[i] of y is
+// bit i of x xor bit i of inputNegations.
+// Input negation and permutation map the cubes of a cover one to one with the same number of literals,
+// so a minimal cover of g (or of not g when the output is negated) maps back to a minimal cover of f.
+// @param permutation the position in y of each input bit of x
+// @param inputNegations the inputs of x that are negated
+// @param outputNegated whether g is the complement of the transformed f
+public record NpnTransform(int[] permutation, long inputNegations, boolean outputNegated) {
+
+    public NpnTransform {
+        permutation = permutation.clone();
+        boolean[] seen = new boolean[permutation.length];
+        for (int p : permutation) {
+            if (p < 0 || p >= permutation.length || seen[p]) {
+                throw new IllegalArgumentException("Not a permutation: " + Arrays.toString(permutation));
+            }
+            seen[p] = true;
+        }
+    }
+
+// @return the transform that changes nothing on the given number of inputs
+    public static NpnTransform identity(int numVariables) {
+        int[] permutation = new int[numVariables];
+        for (int i = 0; i < numVariables; i++) permutation[i] = i;
+        return new NpnTransform(permutation, 0, false);
+    }
+
+    @Override
+    public int[] permutation() {
+        return permutation.clone();
+    }
+
+// @return the number of inputs
+    public int getNumVariables() {
+        return permutation.length;
+    }
+
+// Maps an input combination x of f to the input combination y of g.
+// @param x an input combination of f
+// @return the matching input combination of g
+    public long apply(long x) {
+        long flipped = x ^ inputNegations;
+        long y = 0;
+        for (int i = 0; i < permutation.length; i++) {
+            y |= ((flipped >>> i) & 1) << permutation[i];
+        }
+        return y;
+    }
+
+// Maps a cube over the inputs of g back to the cube over the inputs of f that it corresponds to.
+// @param cube a cube over the inputs of g
+// @return the cube of f's inputs whose image is the given cube
+    public Term toOriginal(Term cube) {
+        long value = 0;
+        long careMask = 0;
+        for (int i = 0; i < permutation.length; i++) {
+            long bit = 1L << permutation[i];
+            if ((cube.getCareMask() & bit) != 0) {
+                careMask |= 1L << i;
+                if ((cube.getValue() & bit) != 0) value |= 1L << i;
+            }
+        }
+        return new Term(value ^ (inputNegations & careMask), careMask, cube.getWidth());
+    }
+
+// Maps a cover of g (or of not g when the output is negated) back to a cover of f.
+// @param cover cubes over the inputs of g
+// @return the corresponding cubes over the inputs of f
+    public List<Term> toOriginal(List<Term> cover) {
+        List<Term> original = new ArrayList<>(cover.size());
+        for (Term cube : cover) original.add(toOriginal(cube));
+        return original;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof NpnTransform other && Arrays.equals(permutation, other.permutation)
+                && inputNegations == other.inputNegations && outputNegated == other.outputNegated;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(Arrays.hashCode(permutation), inputNegations, outputNegated);
+    }
+
+    @Override
+    public String toString() {
+        return "NpnTransform[permutation=" + Arrays.toString(permutation)
+                + ", inputNegations=" + Long.toBinaryString(inputNegations) + ", outputNegated=" + outputNegated + "]";
+    }
+}
@@ -0,0 +1,67 @@
+package simplifier;
+
+import java.util.*;
+
+// A multi-output function in the Berkeley PLA format of Espresso: for each output, a cover of its on-set and
+// a cover of its don't-care set, as cubes over the shared inputs. Read with PlaReader, written with PlaWriter.
+// @param numInputs the number of inputs (1 to 64)
+// @param inputLabels the input names (.ilb), or an empty list
+// @param outputLabels the output names (.ob), or an empty list
+// @param onSets for each output, the cubes of its on-set
+// @param dontCares for each output, the cubes of its don't-care set
+public record Pla(int numInputs, List<String> inputLabels, List<String> outputLabels,
+                  List<List<Term>> onSets, List<List<Term>> dontCares) {
+
+// @throws IllegalArgumentException if the sizes do not match or a cube has the wrong width
+    public Pla {
+        if (numInputs < 1 || numInputs > FunctionSpec.MAX_VARIABLES) {
+            throw new IllegalArgumentException(
+                    "The number of inputs must be between 1 and " + FunctionSpec.MAX_VARIABLES + ": " + numInputs);
+        }
+        if (onSets.isEmpty() || onSets.size() != dontCares.size()) {
+            throw new IllegalArgumentException("Expected one on-set and one don't-care set per output");
+        }
+        if (!inputLabels.isEmpty() && inputLabels.size() != numInputs) {
+            throw new IllegalArgumentException(inputLabels.size() + " input labels for " + numInputs + " inputs");
+        }
+        if (!outputLabels.isEmpty() && outputLabels.size() != onSets.size()) {
+            throw new IllegalArgumentException(
+                    outputLabels.size() + " output labels for " + onSets.size() + " outputs");
+        }
+        inputLabels = List.copyOf(inputLabels);
+        outputLabels = List.copyOf(outputLabels);
+        onSets = copyCovers(numInputs, onSets);
+        dontCares = copyCovers(numInputs, dontCares);
+    }
+
+// @return the number of outputs
+    public int numOutputs() {
+        return onSets.size();
+    }
+
+// Minimizes every output from its cubes, without expanding them to minterms.
+// @param simplifier the simplifier to run on each output
+// @return a PLA with the same inputs and labels, whose on-sets are the minimized covers and whose
+// don't-care sets are empty
+    public Pla simplify(EspressoSimplifier simplifier) {
+        List<List<Term>> covers = new ArrayList<>(numOutputs());
+        for (int output = 0; output < numOutputs(); output++) {
+            covers.add(simplifier.simplifyCubes(numInputs, onSets.get(output), dontCares.get(output)));
+        }
+        return new Pla(numInputs, inputLabels, outputLabels, covers,
+                Collections.nCopies(numOutputs(), List.of()));
+    }
+
+    private static List<List<Term>> copyCovers(int numInputs, List<List<Term>> covers) {
+        List<List<Term>> copies = new ArrayList<>(covers.size());
+        for (List<Term> cover : covers) {
+            for (Term t : cover) {
+                if (t.getWidth() != numInputs) {
+                    throw new IllegalArgumentException("Cube " + t.getBinary() + " does not have " + numInputs + " inputs");
+                }
+            }
+            copies.add(List.copyOf(cover));
+        }
+        return List.copyOf(copies);
+    }
+}
@@ -0,0 +1,182 @@
+package simplifier;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+// Reads functions in the Berkeley PLA format of Espresso.
+// The file is read line by line and each cube line is packed into a Term as soon as it is read, so only the
+// cubes are kept in memory, never the text. Supported:
+// - .i <inputs> and .o <outputs>, which must come before the first cube;
+// - .ilb and .ob labels, .p (ignored), .e or .end, and # comments;
+// - .type f or fd (the default): in the output part of a cube, 1 (or 4) puts the cube in that output's
+//   on-set, - (or 2) in its don't-care set (ignored for type f), and 0 or ~ leaves the output alone.
+// Input and output parts may be written together or separated by spaces; an input part uses 0, 1 and -.
+// Types that list the off-set (fr, fdr) and multi-valued or symbolic inputs are not supported.
+public final class PlaReader {
+
+    private PlaReader() {
+    }
+
+// Reads a PLA file.
+// @param path the file
+// @return the function it describes
+// @throws IOException if the file cannot be read
+// @throws IllegalArgumentException if the file is malformed; the message gives the line number
+    public static Pla read(Path path) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return read(in);
+        }
+    }
+
+// Reads a PLA from a character stream, up to .e or the end of the stream.
+// @param reader the stream, which is not closed
+// @return the function it describes
+// @throws IOException if the stream cannot be read
+// @throws IllegalArgumentException if the text is malformed; the message gives the line number
+    public static Pla read(Reader reader) throws IOException {
+        BufferedReader in = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        int numInputs = -1;
+        int numOutputs = -1;
+        boolean dontCareType = true;
+        List<String> inputLabels = List.of();
+        List<String> outputLabels = List.of();
+        List<List<Term>> onSets = null;
+        List<List<Term>> dontCares = null;
+
+        String line;
+        int lineNumber = 0;
+        while ((line = in.readLine()) != null) {
+            lineNumber++;
+            int comment = line.indexOf('#');
+            String text = (comment >= 0 ? line.substring(0, comment) : line).trim();
+            if (text.isEmpty()) continue;
+
+            try {
+                if (text.startsWith(".")) {
+                    String[] fields = text.split("\\s+");
+                    String directive = fields[0];
+                    if (directive.equals(".e") || directive.equals(".end")) break;
+                    if (onSets != null && (directive.equals(".i") || directive.equals(".o")
+                            || directive.equals(".type"))) {
+                        throw new IllegalArgumentException(directive + " after the first cube");
+                    }
+                    switch (directive) {
+                        case ".i" -> numInputs = parseCount(fields, FunctionSpec.MAX_VARIABLES);
+                        case ".o" -> numOutputs = parseCount(fields, Integer.MAX_VALUE);
+                        case ".type" -> dontCareType = parseType(fields);
+                        case ".ilb" -> inputLabels = List.of(fields).subList(1, fields.length);
+                        case ".ob" -> outputLabels = List.of(fields).subList(1, fields.length);
+                        case ".p" -> {
+                            // The cube count is only a hint; the cubes are counted as they are read
+                        }
+                        default -> throw new IllegalArgumentException("Unsupported directive " + directive);
+                    }
+                    continue;
+                }
+
+                if (onSets == null) {
+                    if (numInputs < 0 || numOutputs < 0) {
+                        throw new IllegalArgumentException("A cube before .i and .o");
+                    }
+                    onSets = newCovers(numOutputs);
+                    dontCares = newCovers(numOutputs);
+                }
+                addCube(text, numInputs, numOutputs, dontCareType, onSets, dontCares);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+
+        if (numInputs < 0 || numOutputs < 0) {
+            throw new IllegalArgumentException("Missing .i or .o");
+        }
+        if (onSets == null) {
+            onSets = newCovers(numOutputs);
+            dontCares = newCovers(numOutputs);
+        }
+        return new Pla(numInputs, inputLabels, outputLabels, onSets, dontCares);
+    }
+
+// Packs one cube line into a Term and adds it to the covers its output part selects.
+    private static void addCube(String text, int numInputs, int numOutputs, boolean dontCareType,
+                                List<List<Term>> onSets, List<List<Term>> dontCares) {
+        // Drop the separators between and within the parts
+        char[] cube = new char[numInputs + numOutputs];
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c) || c == '|') continue;
+            if (length == cube.length) {
+                length++;
+                break;
+            }
+            cube[length++] = c;
+        }
+        if (length != cube.length) {
+            throw new IllegalArgumentException("Expected " + numInputs + " input and " + numOutputs
+                    + " output characters: " + text);
+        }
+
+        long value = 0;
+        long careMask = 0;
+        for (int i = 0; i < numInputs; i++) {
+            char c = cube[i];
+            value <<= 1;
+            careMask <<= 1;
+            switch (c) {
+                case '0' -> careMask |= 1;
+                case '1' -> {
+                    value |= 1;
+                    careMask |= 1;
+                }
+                case '-', '2' -> {
+                }
+                default -> throw new IllegalArgumentException("Invalid input character '" + c + "'");
+            }
+        }
+
+        Term term = null;
+        for (int o = 0; o < numOutputs; o++) {
+            char c = cube[numInputs + o];
+            List<List<Term>> target = switch (c) {
+                case '1', '4' -> onSets;
+                case '-', '2' -> dontCareType ? dontCares : null;
+                case '0', '~' -> null;
+                default -> throw new IllegalArgumentException("Invalid output character '" + c + "'");
+            };
+            if (target == null) continue;
+            if (term == null) term = new Term(value, careMask, numInputs);
+            target.get(o).add(term);
+        }
+    }
+
+// @return true if the type has a don't-care set
+    private static boolean parseType(String[] fields) {
+        if (fields.length != 2) throw new IllegalArgumentException("Expected .type <type>");
+        return switch (fields[1]) {
+            case "f" -> false;
+            case "fd" -> true;
+            case "r", "fr", "dr", "fdr" ->
+                    throw new IllegalArgumentException("Type " + fields[1] + " (with an off-set) is not supported");
+            default -> throw new IllegalArgumentException("Unknown type " + fields[1]);
+        };
+    }
+
+    private static int parseCount(String[] fields, int max) {
+        if (fields.length != 2) throw new IllegalArgumentException("Expected " + fields[0] + " <count>");
+        int count = Integer.parseInt(fields[1]);
+        if (count < 1 || count > max) {
+            throw new IllegalArgumentException(fields[0] + " must be between 1 and " + max + ": " + count);
+        }
+        return count;
+    }
+
+    private static List<List<Term>> newCovers(int numOutputs) {
+        List<List<Term>> covers = new ArrayList<>(numOutputs);
+        for (int o = 0; o < numOutputs; o++) covers.add(new ArrayList<>());
+        return covers;
+    }
+}
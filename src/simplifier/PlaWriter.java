@@ -0,0 +1,84 @@
+package simplifier;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+// Writes functions in the Berkeley PLA format of Espresso.
+// A cube shared by several outputs is written once, with a 1 (or a - for a don't-care) in each of their
+// columns, so a multi-output cover reads back as the same PLA. To merge them, and to write the .p count
+// before the cubes, every distinct cube and its output columns are collected in memory first; the text is
+// then written through the stream without building the whole file.
+// The type is fd when some output has don't-cares, and f otherwise.
+public final class PlaWriter {
+
+    private PlaWriter() {
+    }
+
+// Writes a PLA file.
+// @param path the file, replaced if it exists
+// @param pla the function
+// @throws IOException if the file cannot be written
+    public static void write(Path path, Pla pla) throws IOException {
+        try (Writer out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            write(out, pla);
+        }
+    }
+
+// Writes a PLA to a character stream.
+// @param out the stream, which is flushed but not closed
+// @param pla the function
+// @throws IOException if the stream cannot be written
+    public static void write(Writer out, Pla pla) throws IOException {
+        int numInputs = pla.numInputs();
+        int numOutputs = pla.numOutputs();
+
+        // Output column of every distinct cube, in first-seen order
+        // A cube in both sets of an output is a don't-care there, as for EspressoSimplifier.simplifyCubes
+        Map<Term, char[]> rows = new LinkedHashMap<>();
+        boolean hasDontCares = false;
+        for (int o = 0; o < numOutputs; o++) {
+            for (Term t : pla.onSets().get(o)) row(rows, t, numOutputs)[o] = '1';
+        }
+        for (int o = 0; o < numOutputs; o++) {
+            for (Term t : pla.dontCares().get(o)) {
+                row(rows, t, numOutputs)[o] = '-';
+                hasDontCares = true;
+            }
+        }
+
+        out.write(".i " + numInputs + "\n");
+        out.write(".o " + numOutputs + "\n");
+        if (!pla.inputLabels().isEmpty()) out.write(".ilb " + String.join(" ", pla.inputLabels()) + "\n");
+        if (!pla.outputLabels().isEmpty()) out.write(".ob " + String.join(" ", pla.outputLabels()) + "\n");
+        out.write(".type " + (hasDontCares ? "fd" : "f") + "\n");
+        out.write(".p " + rows.size() + "\n");
+        for (Map.Entry<Term, char[]> row : rows.entrySet()) {
+            out.write(row.getKey().getBinary());
+            out.write(' ');
+            out.write(row.getValue());
+            out.write('\n');
+        }
+        out.write(".e\n");
+        out.flush();
+    }
+
+// Writes a single-output cover.
+// @param out the stream, which is flushed but not closed
+// @param numInputs the number of inputs
+// @param cover the cubes of the output's on-set
+// @throws IOException if the stream cannot be written
+    public static void write(Writer out, int numInputs, List<Term> cover) throws IOException {
+        write(out, new Pla(numInputs, List.of(), List.of(), List.of(cover), List.of(List.of())));
+    }
+
+    private static char[] row(Map<Term, char[]> rows, Term cube, int numOutputs) {
+        return rows.computeIfAbsent(cube, key -> {
+            char[] outputs = new char[numOutputs];
+            Arrays.fill(outputs, '0');
+            return outputs;
+        });
+    }
+}
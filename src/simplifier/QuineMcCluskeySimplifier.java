@@ -1,175 +1,786 @@
 package simplifier;
 
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
 
 // Implements the Quine–McCluskey algorithm to simplify Boolean logic functions.
 // Supports full minimization using Petrick's Method for covering remaining minterms.
-public class QuineMcCluskeySimplifier implements Simplifier {
+// Combination rounds can optionally run in parallel on a ForkJoinPool; the result is identical to the sequential run.
+// A call can be limited by a SimplificationBudget, which the combination and covering loops check cooperatively.
+// An instance is thread-safe and meant to be shared: all per-call state lives in the call, and the scratch tables
+// of the combination rounds come from a SimplificationContext pooled per thread. Settings changed while calls
+// are running apply to the calls that start afterwards.
+// A simplifier that created its own ForkJoinPool shuts it down in close().
+public class QuineMcCluskeySimplifier implements Simplifier, AutoCloseable {
+
+    // Number of lower-bucket terms handled by one unit of parallel work
+    private static final int CHUNK_SIZE = 64;
+    // Number of partial Petrick products completed greedily when the budget runs out while covering
+    private static final int PARTIAL_PRODUCTS_COMPLETED = 64;
+
+    private final ForkJoinPool pool;        // null when running sequentially
+    private final boolean ownsPool;
+    private volatile CoverStrategy coverStrategy = CoverStrategy.PETRICK;
+    private volatile int maxPetrickFrontier = 2_000;
+    private volatile SimplificationListener metricsListener;
+    private final ThreadLocal<SimplificationMetrics> lastMetrics = new ThreadLocal<>();   // per calling thread
+
+// Creates a sequential simplifier.
+    public QuineMcCluskeySimplifier() {
+        this(1);
+    }
+
+// Creates a simplifier that splits each combination round across its own ForkJoinPool, shut down by close().
+// @param parallelism the number of worker threads; 1 runs sequentially on the calling thread
+    public QuineMcCluskeySimplifier(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        this.pool = parallelism == 1 ? null : new ForkJoinPool(parallelism);
+        this.ownsPool = true;
+    }
+
+// Creates a simplifier that splits each combination round across a caller-managed pool, which close()
+// leaves running (e.g. ForkJoinPool.commonPool()).
+// @param pool the pool that runs the combination rounds
+    public QuineMcCluskeySimplifier(ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool);
+        this.ownsPool = false;
+    }
+
+// @return the number of worker threads used for combination rounds
+    public int getParallelism() {
+        return pool == null ? 1 : pool.getParallelism();
+    }
+
+// Shuts down the worker pool if this simplifier created it. Calls after close() fail if they run in parallel.
+    @Override
+    public void close() {
+        if (pool != null && ownsPool) pool.shutdown();
+    }
+
+// @return the method used to cover the minterms left after the essential prime implicants
+    public CoverStrategy getCoverStrategy() {
+        return coverStrategy;
+    }
+
+// Selects the method used to cover the minterms left after the essential prime implicants.
+// @param coverStrategy the cover strategy (Petrick's Method by default)
+    public void setCoverStrategy(CoverStrategy coverStrategy) {
+        this.coverStrategy = Objects.requireNonNull(coverStrategy);
+    }
 
-    private int numVariables;
+// @return the largest number of products kept between multiplication steps of PETRICK_ABSORPTION
+    public int getMaxPetrickFrontier() {
+        return maxPetrickFrontier;
+    }
+
+// Caps the number of products kept between multiplication steps of PETRICK_ABSORPTION.
+// When the cap is hit only the smallest products are kept, so the cover may no longer be minimal.
+// @param maxPetrickFrontier the largest frontier size (2000 by default)
+    public void setMaxPetrickFrontier(int maxPetrickFrontier) {
+        if (maxPetrickFrontier < 1) {
+            throw new IllegalArgumentException("Frontier size must be at least 1: " + maxPetrickFrontier);
+        }
+        this.maxPetrickFrontier = maxPetrickFrontier;
+    }
+
+// @return the listener notified of the metrics of every call, or null
+    public SimplificationListener getMetricsListener() {
+        return metricsListener;
+    }
+
+// Sets a listener that receives the metrics of every stage and every call.
+// The listener is called on the thread of each call, so a shared simplifier needs a thread-safe listener.
+// @param metricsListener the listener, or null to remove it
+    public void setMetricsListener(SimplificationListener metricsListener) {
+        this.metricsListener = metricsListener;
+    }
+
+// @return the metrics of the last simplification on the calling thread, or null if it has not run one yet
+    public SimplificationMetrics getLastMetrics() {
+        return lastMetrics.get();
+    }
+
+// @return the number of products pruned by absorption or by the frontier cap during the last simplification
+// on the calling thread
+    public long getPrunedProductCount() {
+        SimplificationMetrics metrics = lastMetrics.get();
+        return metrics == null ? 0 : metrics.getPrunedProductCount();
+    }
+
+// @return the chart dimensions before and after the reduction step of the last simplification on the calling
+// thread, or null if it has not run one yet
+    public ChartReduction getLastChartReduction() {
+        SimplificationMetrics metrics = lastMetrics.get();
+        return metrics == null ? null : metrics.getChartReduction();
+    }
 
 // Simplifies a list of minterms into minimized logic terms using Quine–McCluskey method.
+// Don't-cares take part in combining terms but are left out of the prime implicant chart.
+// @param numVariables the number of variables (1 to 64)
 // @param minterms a list of minterms (e.g., 1, 3, 5, 7)
+// @param dontCares a list of don't-care input combinations (e.g., 2, 6)
 // @return a list of simplified Terms
+// @throws CancellationException if the calling thread is interrupted during the call
     @Override
-    public List<Term> simplify(List<Integer> minterms) {
-        if (minterms.isEmpty()) return List.of();
+    public List<Term> simplify(int numVariables, List<Integer> minterms, List<Integer> dontCares) {
+        SimplificationResult result = simplifyWithMetrics(numVariables, minterms, dontCares);
+        if (!result.hasCover()) throw new CancellationException(result.reason());
+        return result.terms();
+    }
 
-        this.numVariables = getVariableCount(minterms);
+// Simplifies a function and returns the cover together with the metrics of the call.
+// @param function the function to simplify
+// @return the simplified terms and the per-stage metrics
+    public SimplificationResult simplifyWithMetrics(FunctionSpec function) {
+        return simplifyWithMetrics(function.getNumVariables(), function.getMinterms(), function.getDontCares());
+    }
 
-// Step 1: Convert minterms to binary Terms
-        List<Term> initialTerms = new ArrayList<>();
-        for (int m : minterms) {
-            String binary = toBinary(m, numVariables);
-            initialTerms.add(new Term(binary, Set.of(m)));
+// Simplifies a function and returns the cover together with the metrics of the call.
+// @param numVariables the number of variables (1 to 64)
+// @param minterms a list of minterms (e.g., 1, 3, 5, 7)
+// @param dontCares a list of don't-care input combinations (e.g., 2, 6)
+// @return the simplified terms and the per-stage metrics
+    public SimplificationResult simplifyWithMetrics(int numVariables, List<Integer> minterms, List<Integer> dontCares) {
+        return simplifyWithBudget(numVariables, minterms, dontCares, SimplificationBudget.UNLIMITED);
+    }
+
+// Simplifies a function within a budget.
+// @param function the function to simplify
+// @param budget the limits on time, terms per round and covering frontier
+// @return the cover and its status, which tells whether the cover is minimal or why there is none
+    public SimplificationResult simplifyWithBudget(FunctionSpec function, SimplificationBudget budget) {
+        return simplifyWithBudget(function.getNumVariables(), function.getMinterms(), function.getDontCares(), budget);
+    }
+
+// Simplifies a function within a budget.
+// If the budget runs out while generating prime implicants, no cover is returned (BUDGET_EXCEEDED).
+// If it runs out while covering, the best cover of the cyclic core found so far is kept and the result is
+// NON_OPTIMAL.
+// If the calling thread is interrupted, the call returns CANCELLED and the thread stays interrupted.
+// @param numVariables the number of variables (1 to 64)
+// @param minterms a list of minterms (e.g., 1, 3, 5, 7)
+// @param dontCares a list of don't-care input combinations (e.g., 2, 6)
+// @param budget the limits on time, terms per round and covering frontier
+// @return the cover and its status, which tells whether the cover is minimal or why there is none
+    public SimplificationResult simplifyWithBudget(int numVariables, List<Integer> minterms, List<Integer> dontCares,
+                                                   SimplificationBudget budget) {
+        FunctionSpec.validate(numVariables, minterms, dontCares);
+        int[] rows = minterms.stream().mapToInt(Integer::intValue).toArray();
+        return run(numVariables, rows, dontCares.size(), () -> toInitialTerms(numVariables, minterms, dontCares), budget);
+    }
+
+// Simplifies a function given as packed truth tables (see TruthTable).
+// The bits are read directly, without building minterm lists.
+// @param numVariables the number of variables (1 to TruthTable.MAX_VARIABLES)
+// @param onSet the truth table of the minterms
+// @param dontCares the truth table of the don't-cares
+// @return a list of simplified Terms
+// @throws CancellationException if the calling thread is interrupted during the call
+    @Override
+    public List<Term> simplifyTruthTable(int numVariables, long[] onSet, long[] dontCares) {
+        SimplificationResult result = simplifyTruthTableWithBudget(numVariables, onSet, dontCares,
+                SimplificationBudget.UNLIMITED);
+        if (!result.hasCover()) throw new CancellationException(result.reason());
+        return result.terms();
+    }
+
+// Simplifies a function given as packed truth tables within a budget; see simplifyWithBudget.
+// An input combination set in both tables counts as a minterm.
+// @param numVariables the number of variables (1 to TruthTable.MAX_VARIABLES)
+// @param onSet the truth table of the minterms
+// @param dontCares the truth table of the don't-cares
+// @param budget the limits on time, terms per round and covering frontier
+// @return the cover and its status, which tells whether the cover is minimal or why there is none
+    public SimplificationResult simplifyTruthTableWithBudget(int numVariables, long[] onSet, long[] dontCares,
+                                                            SimplificationBudget budget) {
+        TruthTable.validate(numVariables, onSet, "on-set");
+        TruthTable.validate(numVariables, dontCares, "don't-care");
+        long[] onlyDontCares = new long[dontCares.length];
+        for (int w = 0; w < dontCares.length; w++) onlyDontCares[w] = dontCares[w] & ~onSet[w];
+        return run(numVariables, TruthTable.toArray(onSet), TruthTable.count(onlyDontCares),
+                () -> toInitialTerms(numVariables, onSet, onlyDontCares), budget);
+    }
+
+// Runs the pipeline on validated input and wraps the cover, its status and the metrics of the call.
+// @param minterms the rows of the prime implicant chart
+// @param dontCareCount the number of don't-cares, for the metrics
+// @param initialTerms builds the single-minterm terms of the minterms and don't-cares
+    private SimplificationResult run(int numVariables, int[] minterms, int dontCareCount,
+                                     Supplier<List<Term>> initialTerms, SimplificationBudget budget) {
+        SimplificationMetrics metrics = new SimplificationMetrics(metricsListener);
+        metrics.setFunction(numVariables, minterms.length, dontCareCount);
+        lastMetrics.set(metrics);
+        BudgetTracker tracker = new BudgetTracker(Objects.requireNonNull(budget));
+
+        List<Term> cover;
+        SimplificationStatus status;
+        String reason;
+        try {
+            cover = minterms.length == 0 ? List.of() : simplify(minterms, initialTerms, metrics, tracker);
+            reason = tracker.getNonOptimalReason();
+            status = reason == null ? SimplificationStatus.OPTIMAL : SimplificationStatus.NON_OPTIMAL;
+        } catch (BudgetExceededException e) {
+            metrics.endAborted();
+            cover = List.of();
+            reason = e.getMessage();
+            status = e.isCancelled() ? SimplificationStatus.CANCELLED : SimplificationStatus.BUDGET_EXCEEDED;
         }
 
+        metrics.setCoverSize(cover.size());
+        metrics.setStatus(status);
+        metrics.complete();
+        return new SimplificationResult(cover, status, reason, metrics);
+    }
+
+// Runs the pipeline on validated, non-empty input, recording each stage.
+    private List<Term> simplify(int[] minterms, Supplier<List<Term>> initialTermSource,
+                                SimplificationMetrics metrics, BudgetTracker budget) {
+
+// Step 1: Convert minterms and don't-cares to bit-packed Terms
+        metrics.begin(SimplificationMetrics.Stage.BINARY_CONVERSION);
+        List<Term> initialTerms = initialTermSource.get();
+        metrics.end();
+
 // Step 2: Find all prime implicants
-        List<Term> primeImplicants = findPrimeImplicants(initialTerms);
+        List<Term> primeImplicants = findPrimeImplicants(initialTerms, metrics, budget);
+        metrics.setPrimeImplicantCount(primeImplicants.size());
 
 // Step 3: Find essential prime implicants
-        Set<Term> essentialPrimes = findEssentialPrimeImplicants(primeImplicants, minterms);
+        metrics.begin(SimplificationMetrics.Stage.ESSENTIALS);
+        CoverageChart chart = new CoverageChart(primeImplicants, minterms);
+        BitSet essentialColumns = findEssentialPrimeImplicants(chart);
+        Set<Term> essentialPrimes = chart.toTerms(essentialColumns);
+        metrics.setEssentialCount(essentialPrimes.size());
+        metrics.end();
+
+// Step 4: Reduce the chart of remaining minterms to its cyclic core
+        metrics.begin(SimplificationMetrics.Stage.CHART_REDUCTION);
+        List<Integer> remaining = uncoveredMinterms(chart, essentialColumns);
+        Set<Term> finalCover = new HashSet<>(essentialPrimes);
+        Set<Term> nonEssentialPrimes = new HashSet<>(primeImplicants);
+        nonEssentialPrimes.removeAll(essentialPrimes);
+
+        ChartReducer reducer = new ChartReducer(nonEssentialPrimes, remaining);
+        metrics.setChartReduction(reducer.reduce());
+        finalCover.addAll(reducer.getSelected());
+        remaining = reducer.getRemainingMinterms();
+        metrics.end();
 
-// Step 4: Cover remaining minterms using Petrick’s method
-        Set<Integer> covered = new HashSet<>();
-        for (Term term : essentialPrimes) {
-            covered.addAll(term.getMinterms());
+// Step 5: Cover the cyclic core using the selected cover strategy
+        if (!remaining.isEmpty()) {
+            metrics.begin(SimplificationMetrics.Stage.COVERING);
+            finalCover.addAll(coverCore(reducer.getRemainingCandidates(), remaining, metrics, budget));
+            metrics.end();
         }
 
-        List<Integer> remaining = new ArrayList<>();
+        return new ArrayList<>(finalCover);
+    }
+
+// Converts minterms and don't-cares to single-minterm Terms.
+// Don't-cares that are also minterms, or repeated, are added only once.
+    List<Term> toInitialTerms(int numVariables, List<Integer> minterms, List<Integer> dontCares) {
+        List<Term> initialTerms = new ArrayList<>(minterms.size() + dontCares.size());
         for (int m : minterms) {
-            if (!covered.contains(m)) remaining.add(m);
+            initialTerms.add(Term.ofMinterm(m, numVariables));
         }
 
-        Set<Term> finalCover = new HashSet<>(essentialPrimes);
+        Set<Integer> onSet = new HashSet<>(minterms);
+        for (int d : new LinkedHashSet<>(dontCares)) {
+            if (!onSet.contains(d)) initialTerms.add(Term.ofMinterm(d, numVariables));
+        }
+        return initialTerms;
+    }
 
-        if (!remaining.isEmpty()) {
-            Set<Term> nonEssentialPrimes = new HashSet<>(primeImplicants);
-            nonEssentialPrimes.removeAll(essentialPrimes);
-            Set<Term> cover = petrickMethod(nonEssentialPrimes, remaining);
-            finalCover.addAll(cover);
+// Converts the set bits of truth tables to single-minterm Terms, minterms first.
+// @param dontCares the don't-cares that are not minterms
+    List<Term> toInitialTerms(int numVariables, long[] onSet, long[] dontCares) {
+        List<Term> initialTerms = new ArrayList<>(TruthTable.count(onSet) + TruthTable.count(dontCares));
+        for (long[] table : List.of(onSet, dontCares)) {
+            for (int w = 0; w < table.length; w++) {
+                for (long bits = table[w]; bits != 0; bits &= bits - 1) {
+                    initialTerms.add(Term.ofMinterm((long) w << 6 | Long.numberOfTrailingZeros(bits), numVariables));
+                }
+            }
         }
+        return initialTerms;
+    }
 
-        return new ArrayList<>(finalCover);
+// Lists the minterms of a chart that none of the given columns cover.
+    static List<Integer> uncoveredMinterms(CoverageChart chart, BitSet columns) {
+        BitSet covered = new BitSet(chart.getRowCount());
+        for (int c = columns.nextSetBit(0); c >= 0; c = columns.nextSetBit(c + 1)) {
+            covered.or(chart.rowsOf(c));
+        }
+
+        List<Integer> remaining = new ArrayList<>();
+        for (int r = covered.nextClearBit(0); r < chart.getRowCount(); r = covered.nextClearBit(r + 1)) {
+            remaining.add(chart.getRow(r));
+        }
+        return remaining;
     }
 
-// Calculates the number of variables based on the largest minterm.
-    private int getVariableCount(List<Integer> minterms) {
-        int max = Collections.max(minterms);
-        return Integer.toBinaryString(max).length();
+// Covers the minterms left after essential extraction and chart reduction with the selected cover strategy.
+// If the budget runs out, the best cover found so far is returned and the budget is marked non-optimal:
+// branch and bound keeps the smallest full cover it reached, and Petrick's Method completes its smallest
+// partial products greedily. Only without any of those is the core covered greedily from scratch.
+// @param candidates the columns of the cyclic core
+// @param remaining the rows of the cyclic core (not empty)
+// @param metrics receives the frontier size or the number of branches explored
+// @param budget the budget of the current call
+// @return the chosen terms
+    Set<Term> coverCore(Set<Term> candidates, List<Integer> remaining, SimplificationMetrics metrics,
+                        BudgetTracker budget) {
+        CoverStrategy strategy = coverStrategy;
+        metrics.setCoverStrategy(strategy);
+        return switch (strategy) {
+            case PETRICK -> petrickMethod(candidates, remaining, metrics, budget);
+            case PETRICK_ABSORPTION -> absorbingPetrickMethod(candidates, remaining, metrics, budget);
+            case BRANCH_AND_BOUND -> {
+                BranchAndBoundCoverSolver solver = new BranchAndBoundCoverSolver(candidates, remaining);
+                solver.setBudget(budget);
+                try {
+                    yield solver.solve();
+                } catch (BudgetExceededException e) {
+                    if (e.isCancelled()) throw e;
+                    budget.markNonOptimal(e.getMessage() + " while covering; the best cover found so far was kept");
+                    yield solver.getBestCover();
+                } finally {
+                    metrics.addBranchesExplored(solver.getBranchesExplored());
+                }
+            }
+        };
     }
 
-// Converts a number to binary string with fixed length.
-    private String toBinary(int num, int length) {
-        String bin = Integer.toBinaryString(num);
-        return "0".repeat(length - bin.length()) + bin;
+// Finishes Petrick's Method after its budget ran out: the smallest products of the clauses multiplied so far
+// are completed greedily, and the smallest result is kept.
+// @param products the products of the clauses multiplied before the budget ran out
+// @param e the exception that stopped the multiplication; rethrown if the call was cancelled
+// @return a cover of all remaining minterms
+    private static Set<Term> completePetrick(Set<Term> candidates, List<Integer> remaining,
+                                             Collection<BitSet> products, BudgetExceededException e,
+                                             BudgetTracker budget) {
+        if (e.isCancelled()) throw e;
+        budget.markNonOptimal(e.getMessage() + " while covering; the smallest partial products were completed greedily");
+        return new BranchAndBoundCoverSolver(candidates, remaining).completeGreedily(products, PARTIAL_PRODUCTS_COMPLETED);
     }
 
 // Finds all prime implicants by iteratively combining terms.
-    private List<Term> findPrimeImplicants(List<Term> terms) {
+// Each round groups the terms by don't-care mask and number of ones, and only compares adjacent groups,
+// because two terms can combine only if they share a mask and their one-counts differ by exactly one.
+// @param terms the initial terms
+// @param metrics receives one COMBINATION_ROUND stage per round
+// @param budget checked between units of work and against the number of combined terms
+// @return the prime implicants
+    protected List<Term> findPrimeImplicants(List<Term> terms, SimplificationMetrics metrics, BudgetTracker budget) {
+        SimplificationContext context = SimplificationContext.acquire();
+        try {
+            return findPrimeImplicants(terms, metrics, budget, context);
+        } finally {
+            context.release();
+        }
+    }
+
+// Runs the combination rounds with the grouping and deduplication maps of a context.
+    private List<Term> findPrimeImplicants(List<Term> terms, SimplificationMetrics metrics, BudgetTracker budget,
+                                           SimplificationContext context) {
         List<Term> current = terms;
-        List<Term> next = new ArrayList<>();
         List<Term> primes = new ArrayList<>();
 
         while (!current.isEmpty()) {
-            boolean[] used = new boolean[current.size()];
-            Map<String, Term> combinedMap = new HashMap<>();
+            metrics.beginRound(current);
+            budget.startRound();
+            List<BucketPair> pairs = adjacentBuckets(groupByOnes(current, context.groups()));
+            long comparisons = 0;
+            for (BucketPair pair : pairs) comparisons += (long) pair.lower().size() * pair.upper().size();
+            List<Term> combined = pool == null
+                    ? combineBuckets(pairs, 0, pairs.size(), budget)
+                    : pool.invoke(new CombineTask(pairs, 0, pairs.size(), budget));
+
+            // Keep the first occurrence of each cube, in work order, so both modes produce the same list
+            Map<Term, Term> combinedMap = context.combinedTerms();
+            for (Term t : combined) combinedMap.putIfAbsent(t, t);
+
+            // A term that combined with nothing this round is a prime implicant
+            for (Term t : current) {
+                if (!hasCombination(t, combinedMap)) primes.add(t);
+            }
 
-            for (int i = 0; i < current.size(); i++) {
-                for (int j = i + 1; j < current.size(); j++) {
-                    Term t1 = current.get(i);
-                    Term t2 = current.get(j);
+            current = new ArrayList<>(combinedMap.values());
+            budget.checkTerms(current.size());
+            metrics.endRound(current.size(), comparisons);
+        }
+
+        return primes;
+    }
+
+// Splits the groups of a round into units of work: a chunk of bucket k paired with the whole bucket k + 1.
+// @param groups care mask -> buckets by number of ones
+// @return the work units in deterministic order
+    private List<BucketPair> adjacentBuckets(Map<Long, List<List<Term>>> groups) {
+        List<BucketPair> pairs = new ArrayList<>();
+        for (List<List<Term>> buckets : groups.values()) {
+            for (int k = 0; k + 1 < buckets.size(); k++) {
+                List<Term> lower = buckets.get(k);
+                List<Term> upper = buckets.get(k + 1);
+                if (upper.isEmpty()) continue;
+                for (int from = 0; from < lower.size(); from += CHUNK_SIZE) {
+                    pairs.add(new BucketPair(lower.subList(from, Math.min(from + CHUNK_SIZE, lower.size())), upper));
+                }
+            }
+        }
+        return pairs;
+    }
+
+// Combines the terms of a range of work units.
+// The budget is checked after each unit, against the time limit and the number of terms the round has
+// combined so far across all workers.
+// @return the combined terms, possibly with duplicates, in work order
+    private static List<Term> combineBuckets(List<BucketPair> pairs, int from, int to, BudgetTracker budget) {
+        List<Term> combined = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            int before = combined.size();
+            for (Term t1 : pairs.get(i).lower()) {
+                for (Term t2 : pairs.get(i).upper()) {
 
                     // Check if terms can be combined
                     if (t1.canCombineWith(t2)) {
-                        Term combined = t1.combineWith(t2);
-                        String key = combined.getBinary();
-                        combinedMap.putIfAbsent(key, combined);
-                        used[i] = true;
-                        used[j] = true;
+                        combined.add(t1.combineWith(t2));
                     }
                 }
             }
+            budget.checkTime();
+            budget.addRoundTerms(combined.size() - before);
+        }
+        return combined;
+    }
 
-            // Add unused terms as prime implicants
-            for (int i = 0; i < current.size(); i++) {
-                if (!used[i]) primes.add(current.get(i));
+// A term took part in a combination exactly when dropping one of its fixed bits gives a combined term,
+// so the round's results identify the terms that are not prime without marking the inputs.
+// @param combined the distinct terms combined from the round that contains the term
+// @return true if the term combined with another term of its round
+    private static boolean hasCombination(Term term, Map<Term, Term> combined) {
+        long fixed = term.getCareMask();
+        while (fixed != 0) {
+            long bit = Long.lowestOneBit(fixed);
+            fixed &= fixed - 1;
+            if (combined.containsKey(new Term(term.getValue() & ~bit, term.getCareMask() & ~bit, term.getWidth()))) {
+                return true;
             }
-
-            next = new ArrayList<>(combinedMap.values());
-            current = next;
         }
-
-        return primes;
+        return false;
     }
 
-// Finds essential prime implicants from the list of all prime implicants.
-    private Set<Term> findEssentialPrimeImplicants(List<Term> primes, List<Integer> minterms) {
-        Map<Integer, List<Term>> chart = new HashMap<>();
+// A chunk of the terms with k ones and all terms with k + 1 ones under the same care mask.
+    private record BucketPair(List<Term> lower, List<Term> upper) {
+    }
 
-// Build coverage chart: minterm -> list of covering terms
-        for (int m : minterms) chart.put(m, new ArrayList<>());
+// Fork-join task combining a range of work units; each half collects its own list and the lists are
+// concatenated in order on join.
+    private static class CombineTask extends RecursiveTask<List<Term>> {
+        private static final long serialVersionUID = 1L;
+
+        // Tasks only live within one fork-join run and are never serialized
+        private final transient List<BucketPair> pairs;
+        private final int from;
+        private final int to;
+        private final transient BudgetTracker budget;
+
+        CombineTask(List<BucketPair> pairs, int from, int to, BudgetTracker budget) {
+            this.pairs = pairs;
+            this.from = from;
+            this.to = to;
+            this.budget = budget;
+        }
 
-        for (Term t : primes) {
-            for (int m : t.getMinterms()) {
-                if (chart.containsKey(m)) {
-                    chart.get(m).add(t);
-                }
+        @Override
+        protected List<Term> compute() {
+            if (to - from <= 1) {
+                return combineBuckets(pairs, from, to, budget);
             }
+            int mid = (from + to) >>> 1;
+            CombineTask left = new CombineTask(pairs, from, mid, budget);
+            left.fork();
+            List<Term> right = new CombineTask(pairs, mid, to, budget).compute();
+            List<Term> result = left.join();
+            result.addAll(right);
+            return result;
+        }
+    }
+
+// Groups terms by their care mask, then by their number of ones.
+// @param terms the terms of one combination round
+// @param groups an empty map to fill
+// @return care mask -> list of buckets, where bucket k holds the terms with k ones
+    private static Map<Long, List<List<Term>>> groupByOnes(List<Term> terms, Map<Long, List<List<Term>>> groups) {
+        for (Term t : terms) {
+            List<List<Term>> buckets = groups.computeIfAbsent(t.getCareMask(), mask -> {
+                List<List<Term>> empty = new ArrayList<>(t.getWidth() + 1);
+                for (int k = 0; k <= t.getWidth(); k++) empty.add(new ArrayList<>());
+                return empty;
+            });
+            buckets.get(Long.bitCount(t.getValue())).add(t);
         }
+        return groups;
+    }
+
+// Returns the bucket sizes of each combination round of the last simplification on the calling thread,
+// for diagnostics. Element r holds, for round r + 1, the number of terms with k ones at index k.
+// @return an unmodifiable list with one array per round
+    public List<int[]> getRoundBucketSizes() {
+        SimplificationMetrics metrics = lastMetrics.get();
+        return metrics == null ? List.of() : metrics.getRoundBucketSizes();
+    }
 
+// Finds essential prime implicants from the prime implicant chart.
 // A term is essential if it is the only one covering a minterm.
-        Set<Term> essential = new HashSet<>();
-        for (int m : chart.keySet()) {
-            List<Term> list = chart.get(m);
-            if (list.size() == 1) {
-                essential.add(list.get(0));
+// @param chart the chart of all prime implicants against all minterms
+// @return the column indices of the essential prime implicants
+    BitSet findEssentialPrimeImplicants(CoverageChart chart) {
+        BitSet essential = new BitSet(chart.getColumnCount());
+        for (int r = 0; r < chart.getRowCount(); r++) {
+            BitSet columns = chart.columnsOf(r);
+            if (columns.cardinality() == 1) {
+                essential.set(columns.nextSetBit(0));
             }
         }
-
         return essential;
     }
 
 // Uses Petrick's Method to find the minimal cover of remaining minterms
 // using the non-essential prime implicants.
+// Each minterm's clause and each product are bitsets over the candidate list.
 // @param candidates all non-essential prime implicants
 // @param remainingMinterms list of minterms that are not yet covered
+// @param metrics receives the largest number of products
+// @param budget checked for every product against the time limit and the frontier budget
 // @return a minimal set of terms that covers all remaining minterms
-    private Set<Term> petrickMethod(Set<Term> candidates, List<Integer> remaining) {
-        Map<Integer, List<Term>> table = new HashMap<>();
-
-// Build a table: minterm -> list of terms that cover it
-        for (int m : remaining) {
-            List<Term> covers = new ArrayList<>();
-            for (Term t : candidates) {
-                if (t.getMinterms().contains(m)) {
-                    covers.add(t);
-                }
-            }
-            table.put(m, covers);
-        }
+    private Set<Term> petrickMethod(Set<Term> candidates, List<Integer> remaining, SimplificationMetrics metrics,
+                                    BudgetTracker budget) {
+        CoverageChart table = new CoverageChart(candidates, remaining);
 
 // Initialize product of sums with first minterm's terms
-        Set<Set<Term>> expression = new HashSet<>();
-        for (Term t : table.get(remaining.get(0))) {
-            expression.add(Set.of(t));
+        Set<BitSet> expression = new HashSet<>();
+        BitSet first = table.columnsOf(0);
+        for (int c = first.nextSetBit(0); c >= 0; c = first.nextSetBit(c + 1)) {
+            BitSet product = new BitSet(table.getColumnCount());
+            product.set(c);
+            expression.add(product);
         }
 
 // Multiply expressions (AND) with the rest of minterm clauses (OR terms)
-        for (int i = 1; i < remaining.size(); i++) {
-            Set<Set<Term>> next = new HashSet<>();
-            for (Set<Term> product : expression) {
-                for (Term t : table.get(remaining.get(i))) {
-                    Set<Term> newProduct = new HashSet<>(product);
-                    newProduct.add(t);
-                    next.add(newProduct);
+        try {
+            for (int i = 1; i < table.getRowCount(); i++) {
+                Set<BitSet> next = new HashSet<>();
+                BitSet clause = table.columnsOf(i);
+                for (BitSet product : expression) {
+                    budget.checkTime();
+                    for (int c = clause.nextSetBit(0); c >= 0; c = clause.nextSetBit(c + 1)) {
+                        BitSet newProduct = (BitSet) product.clone();
+                        newProduct.set(c);
+                        next.add(newProduct);
+                    }
+                    budget.checkFrontier(next.size());
                 }
+                expression = next;
+                metrics.recordPetrickFrontier(expression.size());
             }
-            expression = next;
+        } catch (BudgetExceededException e) {
+            return completePetrick(candidates, remaining, expression, e, budget);
         }
 
 // Find the simplest product (i.e., the set with the least number of terms)
-        int minSize = expression.stream().mapToInt(Set::size).min().orElse(Integer.MAX_VALUE);
-        return expression.stream().filter(set -> set.size() == minSize).findFirst().orElse(Set.of());
+        int minSize = expression.stream().mapToInt(BitSet::cardinality).min().orElse(Integer.MAX_VALUE);
+        return expression.stream().filter(set -> set.cardinality() == minSize).findFirst()
+                .map(table::toTerms).orElse(Set.of());
+    }
+
+// Petrick's Method with absorption applied while multiplying.
+// Products are bitsets over the candidate list. A product that already contains a term of the next clause
+// passes through unchanged (X(X + Y) = X), and any product that contains another product is dropped
+// (X + XY = X). Clauses with fewer terms are multiplied first, which keeps the frontier small.
+// The products of a step are collected in a Frontier, which absorbs them as they arrive and holds at most
+// the cap; past it only the smallest products are kept, so a step never builds the uncapped product set.
+// @param candidates all non-essential prime implicants
+// @param remaining list of minterms that are not yet covered
+// @param metrics receives the largest frontier and the number of pruned products
+// @param budget checked for every product against the time limit and the frontier budget;
+//               also marked non-optimal if the cap is hit
+// @return a minimal set of terms that covers all remaining minterms (if the cap was never hit)
+    private Set<Term> absorbingPetrickMethod(Set<Term> candidates, List<Integer> remaining,
+                                             SimplificationMetrics metrics, BudgetTracker budget) {
+        CoverageChart table = new CoverageChart(candidates, remaining);
+        int frontierCap = maxPetrickFrontier;
+        int wordCount = (table.getColumnCount() + 63) >>> 6;
+
+// The clauses: for each minterm, the indices of the terms that cover it
+        List<BitSet> clauses = new ArrayList<>();
+        for (int r = 0; r < table.getRowCount(); r++) clauses.add(table.columnsOf(r));
+        clauses.sort(Comparator.comparingInt(BitSet::cardinality));
+
+        List<Product> products = List.of(new Product(new long[wordCount], 0));
+        try {
+            for (BitSet clause : clauses) {
+                long[] clauseWords = Arrays.copyOf(clause.toLongArray(), wordCount);
+                Frontier next = new Frontier(frontierCap, table.getColumnCount());
+                for (Product product : products) {
+                    budget.checkTime();
+                    if (intersects(product.words(), clauseWords)) {
+                        next.offer(product);
+                        continue;
+                    }
+                    if (next.rejects(product.size() + 1)) {
+                        next.prune(clause.cardinality());
+                        continue;
+                    }
+                    for (int c = clause.nextSetBit(0); c >= 0; c = clause.nextSetBit(c + 1)) {
+                        long[] words = product.words().clone();
+                        words[c >>> 6] |= 1L << c;
+                        next.offer(new Product(words, product.size() + 1));
+                    }
+                    budget.checkFrontier(next.size());
+                }
+
+                products = next.products();
+                metrics.recordPetrickFrontier(products.size());
+                metrics.addPrunedProducts(next.getPruned());
+                if (next.isCapped()) budget.markNonOptimal("Petrick frontier capped at " + frontierCap);
+            }
+        } catch (BudgetExceededException e) {
+            return completePetrick(candidates, remaining, Product.toBitSets(products), e, budget);
+        }
+
+// The products are sorted by size, so the first one is the simplest
+        return table.toTerms(BitSet.valueOf(products.get(0).words()));
+    }
+
+// A product of Petrick's Method: its columns as bitset words, all of the same length, and their number.
+    private record Product(long[] words, int size) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Product other && Arrays.equals(words, other.words);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(words);
+        }
+
+        static List<BitSet> toBitSets(List<Product> products) {
+            List<BitSet> sets = new ArrayList<>(products.size());
+            for (Product p : products) sets.add(BitSet.valueOf(p.words()));
+            return sets;
+        }
+    }
+
+// The products of one multiplication step, free of absorbed products and limited to the smallest ones.
+// Products are grouped by size, each group in arrival order. Below the cap this gives the same products,
+// in the same order, as absorbing and sorting the whole step; at the cap the largest, latest product is
+// dropped, so a full frontier rejects any product not smaller than everything it holds without a subset scan.
+    private static final class Frontier {
+        private final int cap;
+        private final List<List<Product>> bySize;
+        private final Set<Product> members = new HashSet<>();
+        private int largest = -1;           // size of the largest kept product, -1 when empty
+        private long pruned;
+        private boolean capped;
+
+        Frontier(int cap, int columnCount) {
+            this.cap = cap;
+            this.bySize = new ArrayList<>(columnCount + 1);
+            for (int k = 0; k <= columnCount; k++) bySize.add(new ArrayList<>());
+        }
+
+// Adds a product unless it is already kept, contains a kept product, or is too large for a full frontier.
+// Kept products that contain it are dropped.
+        void offer(Product product) {
+            if (members.contains(product)) return;
+            int size = product.size();
+            if (rejects(size)) {
+                prune(1);
+                return;
+            }
+            for (int k = 0; k < size; k++) {
+                for (Product smaller : bySize.get(k)) {
+                    if (isSubset(smaller.words(), product.words())) {
+                        pruned++;
+                        return;
+                    }
+                }
+            }
+            for (int k = size + 1; k <= largest; k++) {
+                bySize.get(k).removeIf(larger -> {
+                    if (!isSubset(product.words(), larger.words())) return false;
+                    members.remove(larger);
+                    pruned++;
+                    return true;
+                });
+            }
+
+            bySize.get(size).add(product);
+            members.add(product);
+            largest = Math.max(largest, size);
+            if (members.size() > cap) {
+                List<Product> last = bySize.get(largest);
+                members.remove(last.remove(last.size() - 1));
+                pruned++;
+                capped = true;
+            }
+            while (largest >= 0 && bySize.get(largest).isEmpty()) largest--;
+        }
+
+// @return true if the frontier is full and a product of the given size would be dropped at once
+        boolean rejects(int size) {
+            return members.size() >= cap && size >= largest;
+        }
+
+// Counts products dropped at the cap without being offered.
+        void prune(long count) {
+            pruned += count;
+            capped = true;
+        }
+
+        int size() {
+            return members.size();
+        }
+
+// @return the kept products, sorted by size
+        List<Product> products() {
+            List<Product> products = new ArrayList<>(members.size());
+            for (int k = 0; k <= largest; k++) products.addAll(bySize.get(k));
+            return products;
+        }
+
+// @return the number of products dropped, whether absorbed or over the cap
+        long getPruned() {
+            return pruned;
+        }
+
+// @return true if a product was dropped because the frontier was full
+        boolean isCapped() {
+            return capped;
+        }
+    }
+
+// @return true if a and b, of the same length, share a set bit
+    private static boolean intersects(long[] a, long[] b) {
+        for (int i = 0; i < a.length; i++) {
+            if ((a[i] & b[i]) != 0) return true;
+        }
+        return false;
+    }
+
+// @return true if every bit of a is also set in b
+    private static boolean isSubset(long[] a, long[] b) {
+        if (a.length > b.length) return false;
+        for (int i = 0; i < a.length; i++) {
+            if ((a[i] & ~b[i]) != 0) return false;
+        }
+        return true;
     }
 }
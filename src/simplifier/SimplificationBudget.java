@@ -0,0 +1,49 @@
+package simplifier;
+
+import java.time.Duration;
+
+// Limits on the work of a single simplification.
+// The simplifier checks them cooperatively in its combination and covering loops, together with the
+// interrupt status of the calling thread.
+// The time limit is soft. It is checked between units of work, and once it runs out while covering, the call
+// still completes a cover greedily from the best partial result (at most 64 greedy completions), so a call
+// may return somewhat after the limit, by an amount that grows with the size of the chart.
+// @param timeLimit the longest the call should run, or null for no limit
+// @param maxTerms the largest number of terms one combination round may produce
+// @param maxFrontier the largest number of partial covers while covering: Petrick products between
+//                    multiplication steps, or branch-and-bound nodes explored
+public record SimplificationBudget(Duration timeLimit, int maxTerms, int maxFrontier) {
+
+    // No limits; only thread interruption stops the call
+    public static final SimplificationBudget UNLIMITED =
+            new SimplificationBudget(null, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    public SimplificationBudget {
+        if (timeLimit != null && (timeLimit.isNegative() || timeLimit.isZero())) {
+            throw new IllegalArgumentException("Time limit must be positive: " + timeLimit);
+        }
+        if (maxTerms < 1) {
+            throw new IllegalArgumentException("Term budget must be at least 1: " + maxTerms);
+        }
+        if (maxFrontier < 1) {
+            throw new IllegalArgumentException("Frontier budget must be at least 1: " + maxFrontier);
+        }
+    }
+
+// @return a budget limited only by time
+    public static SimplificationBudget ofTimeLimit(Duration timeLimit) {
+        return UNLIMITED.withTimeLimit(timeLimit);
+    }
+
+    public SimplificationBudget withTimeLimit(Duration timeLimit) {
+        return new SimplificationBudget(timeLimit, maxTerms, maxFrontier);
+    }
+
+    public SimplificationBudget withMaxTerms(int maxTerms) {
+        return new SimplificationBudget(timeLimit, maxTerms, maxFrontier);
+    }
+
+    public SimplificationBudget withMaxFrontier(int maxFrontier) {
+        return new SimplificationBudget(timeLimit, maxTerms, maxFrontier);
+    }
+}
@@ -0,0 +1,78 @@
+package simplifier;
+
+import java.util.*;
+
+// Scratch structures of prime implicant generation, pooled per thread and reused by later calls, so the hash
+// tables of the combination rounds keep their arrays instead of being reallocated for every function.
+// A context is taken with acquire() and handed back with release(), which empties it. A thread that asks for
+// a second context while holding one (e.g. a metrics listener that simplifies again) gets a fresh, unpooled one.
+// Tables that grew beyond MAX_RETAINED_CAPACITY slots are dropped on release rather than kept for the
+// lifetime of the thread.
+final class SimplificationContext {
+
+    private static final int MAX_RETAINED_CAPACITY = 1 << 16;
+    private static final ThreadLocal<SimplificationContext> POOL = ThreadLocal.withInitial(SimplificationContext::new);
+
+    private boolean inUse;
+    private Map<Long, List<List<Term>>> groups = new LinkedHashMap<>();
+    private Map<Term, Term> combined = new LinkedHashMap<>();
+    private int largestCombined;
+    private final CubeTable[] tables = new CubeTable[2];
+
+    private SimplificationContext() {
+    }
+
+// @return the calling thread's context, or a fresh one if that is already in use
+    static SimplificationContext acquire() {
+        SimplificationContext context = POOL.get();
+        if (context.inUse) return new SimplificationContext();
+        context.inUse = true;
+        return context;
+    }
+
+// Empties the context and returns it to the pool, dropping tables too large to keep.
+    void release() {
+        if (Math.max(largestCombined, combined.size()) > MAX_RETAINED_CAPACITY) {
+            groups = new LinkedHashMap<>();
+            combined = new LinkedHashMap<>();
+        } else {
+            groups.clear();
+            combined.clear();
+        }
+        largestCombined = 0;
+        for (int i = 0; i < tables.length; i++) {
+            if (tables[i] == null) continue;
+            if (tables[i].capacity() > MAX_RETAINED_CAPACITY) {
+                tables[i] = null;
+            } else {
+                tables[i].clear();
+            }
+        }
+        inUse = false;
+    }
+
+// @return the empty map from care mask to buckets of terms by number of ones
+    Map<Long, List<List<Term>>> groups() {
+        groups.clear();
+        return groups;
+    }
+
+// @return the empty map that deduplicates the combined terms of a round
+    Map<Term, Term> combinedTerms() {
+        largestCombined = Math.max(largestCombined, combined.size());
+        combined.clear();
+        return combined;
+    }
+
+// Returns one of two cube tables, emptied; rounds alternate between them.
+// @param which 0 or 1
+// @return the empty table
+    CubeTable cubeTable(int which) {
+        if (tables[which] == null) {
+            tables[which] = new CubeTable(1024);
+        } else {
+            tables[which].clear();
+        }
+        return tables[which];
+    }
+}
@@ -0,0 +1,105 @@
+package simplifier;
+
+import jdk.jfr.*;
+
+// Java Flight Recorder events emitted by QuineMcCluskeySimplifier, so recordings show the simplifier's
+// stages instead of anonymous collection churn. Enable them with the "simplifier.*" event names, e.g.
+// -XX:StartFlightRecording with a settings file, or jfr configure.
+// Events are created and begun for every stage, but their fields are only filled in when shouldCommit()
+// reports that a recording wants them, so the cost with recording off is an allocation and a flag check.
+final class SimplificationEvents {
+
+    private SimplificationEvents() {
+    }
+
+    @Name("simplifier.Simplify")
+    @Label("Simplify")
+    @Category("Logic Simplifier")
+    @Description("One call of the simplifier, from validated input to the final cover")
+    static final class SimplifyEvent extends Event {
+        @Label("Variables")
+        int numVariables;
+
+        @Label("Minterms")
+        int minterms;
+
+        @Label("Don't-Cares")
+        int dontCares;
+
+        @Label("Prime Implicants")
+        int primeImplicants;
+
+        @Label("Essential Prime Implicants")
+        int essentials;
+
+        @Label("Cover Size")
+        int coverSize;
+
+        @Label("Status")
+        String status;
+    }
+
+    @Name("simplifier.MergeRound")
+    @Label("Merge Round")
+    @Category("Logic Simplifier")
+    @Description("One round of combining terms during prime implicant generation")
+    static final class MergeRoundEvent extends Event {
+        @Label("Round")
+        int round;
+
+        @Label("Input Terms")
+        int inputTerms;
+
+        @Label("Output Terms")
+        int outputTerms;
+
+        @Label("Comparisons")
+        @Description("Term pairs compared, or neighbor lookups for the hash probe variant")
+        long comparisons;
+    }
+
+    @Name("simplifier.ChartReduction")
+    @Label("Chart Reduction")
+    @Category("Logic Simplifier")
+    @Description("Reduction of the prime implicant chart to its cyclic core")
+    static final class ChartReductionEvent extends Event {
+        @Label("Rows Before")
+        int rowsBefore;
+
+        @Label("Columns Before")
+        int columnsBefore;
+
+        @Label("Rows After")
+        int rowsAfter;
+
+        @Label("Columns After")
+        int columnsAfter;
+
+        @Label("Selected Terms")
+        int selected;
+    }
+
+    @Name("simplifier.Cover")
+    @Label("Cover")
+    @Category("Logic Simplifier")
+    @Description("Covering of the cyclic core with the selected cover strategy")
+    static final class CoverEvent extends Event {
+        @Label("Strategy")
+        String strategy;
+
+        @Label("Rows")
+        int rows;
+
+        @Label("Columns")
+        int columns;
+
+        @Label("Petrick Frontier")
+        int frontier;
+
+        @Label("Pruned Products")
+        long prunedProducts;
+
+        @Label("Branches Explored")
+        long branchesExplored;
+    }
+}
@@ -0,0 +1,16 @@
+package simplifier;
+
+// Receives the metrics of a QuineMcCluskeySimplifier as each call runs.
+// Callbacks run on the thread that called simplify, so they should be quick.
+public interface SimplificationListener {
+
+// Called when a stage of the pipeline finishes.
+// @param stage the time and allocation of the stage
+    default void stageCompleted(SimplificationMetrics.StageMetrics stage) {
+    }
+
+// Called when a simplification finishes.
+// @param metrics the complete metrics of the call
+    default void simplificationCompleted(SimplificationMetrics metrics) {
+    }
+}
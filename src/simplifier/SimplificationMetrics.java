@@ -0,0 +1,331 @@
+package simplifier;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import jdk.jfr.Event;
+
+// Measurements of one simplification: wall time and allocation per stage, terms per combination round,
+// chart sizes and covering effort.
+// Allocations are the bytes allocated by the calling thread, so work done on ForkJoinPool workers during
+// parallel combination rounds is not included; they are -1 when the JVM cannot count them.
+// A metrics object is filled in by the simplifier during a single call and only read afterwards.
+// The same stage boundaries also emit the JFR events of SimplificationEvents.
+public final class SimplificationMetrics {
+
+    // Stages of the pipeline; there is one COMBINATION_ROUND per round of prime implicant generation
+    public enum Stage {
+        BINARY_CONVERSION, COMBINATION_ROUND, ESSENTIALS, CHART_REDUCTION, COVERING
+    }
+
+// Wall time and allocation of one stage.
+// @param stage the stage
+// @param round the combination round, counted from 1, or 0 for the other stages
+// @param nanos the wall time in nanoseconds
+// @param allocatedBytes the bytes allocated by the calling thread, or -1 if not supported
+    public record StageMetrics(Stage stage, int round, long nanos, long allocatedBytes) {
+
+        @Override
+        public String toString() {
+            String name = round > 0 ? stage.name().toLowerCase() + " " + round : stage.name().toLowerCase();
+            return String.format("%s: %.3f ms, %d bytes", name, nanos / 1e6, allocatedBytes);
+        }
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                    && threads.isThreadAllocatedMemorySupported() ? threads : null;
+
+    private final SimplificationListener listener;     // null if nobody listens
+    private final List<StageMetrics> stages = new ArrayList<>();
+    private final List<int[]> roundBucketSizes = new ArrayList<>();
+    private final List<Long> roundComparisons = new ArrayList<>();
+    private int numVariables;
+    private int mintermCount;
+    private int dontCareCount;
+    private int primeImplicantCount;
+    private int essentialCount;
+    private ChartReduction chartReduction;
+    private CoverStrategy coverStrategy;
+    private SimplificationStatus status;
+    private int coverSize;
+    private int maxPetrickFrontier;
+    private long prunedProductCount;
+    private long branchesExplored;
+
+    private Stage currentStage;
+    private int currentRound;
+    private long startNanos;
+    private long startBytes;
+    private int roundOutputTerms;
+    private Event currentEvent;                         // JFR event of the current stage, if it has one
+    private final SimplificationEvents.SimplifyEvent simplifyEvent = new SimplificationEvents.SimplifyEvent();
+
+// Creates an empty metrics object and begins the JFR event of the call.
+// @param listener notified of every stage and of the finished call, or null
+    SimplificationMetrics(SimplificationListener listener) {
+        this.listener = listener;
+        simplifyEvent.begin();
+    }
+
+// Starts timing a stage other than a combination round.
+    void begin(Stage stage) {
+        currentStage = stage;
+        currentRound = 0;
+        currentEvent = switch (stage) {
+            case COMBINATION_ROUND -> new SimplificationEvents.MergeRoundEvent();
+            case CHART_REDUCTION -> new SimplificationEvents.ChartReductionEvent();
+            case COVERING -> new SimplificationEvents.CoverEvent();
+            default -> null;
+        };
+        if (currentEvent != null) currentEvent.begin();
+        startBytes = allocatedBytes();
+        startNanos = System.nanoTime();
+    }
+
+// Starts timing the next combination round and records its bucket sizes.
+// @param terms the input terms of the round
+    void beginRound(Collection<Term> terms) {
+        int[] sizes = new int[terms.isEmpty() ? 1 : terms.iterator().next().getWidth() + 1];
+        for (Term t : terms) sizes[Long.bitCount(t.getValue())]++;
+        roundBucketSizes.add(sizes);
+
+        begin(Stage.COMBINATION_ROUND);
+        currentRound = roundBucketSizes.size();
+    }
+
+// Stops timing the current combination round.
+// @param outputTerms the number of distinct combined terms passed to the next round
+// @param comparisons the number of term pairs compared (or neighbors looked up) in the round
+    void endRound(int outputTerms, long comparisons) {
+        roundOutputTerms = outputTerms;
+        roundComparisons.add(comparisons);
+        end();
+    }
+
+// Stops timing a stage that was cut short by the budget, if one is running.
+    void endAborted() {
+        if (currentStage == Stage.COMBINATION_ROUND) {
+            endRound(0, 0);
+        } else if (currentStage != null) {
+            end();
+        }
+    }
+
+// Stops timing the current stage, reports it to the listener and commits its JFR event.
+    void end() {
+        long nanos = System.nanoTime() - startNanos;
+        long bytes = startBytes < 0 ? -1 : allocatedBytes() - startBytes;
+        StageMetrics stage = new StageMetrics(currentStage, currentRound, nanos, bytes);
+        stages.add(stage);
+        if (currentEvent != null) {
+            currentEvent.end();
+            if (currentEvent.shouldCommit()) commitStageEvent();
+        }
+        currentEvent = null;
+        currentStage = null;
+        if (listener != null) listener.stageCompleted(stage);
+    }
+
+// Fills in and commits the JFR event of the stage that just ended.
+    private void commitStageEvent() {
+        if (currentEvent instanceof SimplificationEvents.MergeRoundEvent event) {
+            event.round = currentRound;
+            event.inputTerms = Arrays.stream(roundBucketSizes.get(currentRound - 1)).sum();
+            event.outputTerms = roundOutputTerms;
+            event.comparisons = roundComparisons.get(currentRound - 1);
+        } else if (currentEvent instanceof SimplificationEvents.ChartReductionEvent event && chartReduction != null) {
+            event.rowsBefore = chartReduction.rowsBefore();
+            event.columnsBefore = chartReduction.columnsBefore();
+            event.rowsAfter = chartReduction.rowsAfter();
+            event.columnsAfter = chartReduction.columnsAfter();
+            event.selected = chartReduction.selected();
+        } else if (currentEvent instanceof SimplificationEvents.CoverEvent event) {
+            event.strategy = coverStrategy == null ? null : coverStrategy.name();
+            if (chartReduction != null) {
+                event.rows = chartReduction.rowsAfter();
+                event.columns = chartReduction.columnsAfter();
+            }
+            event.frontier = maxPetrickFrontier;
+            event.prunedProducts = prunedProductCount;
+            event.branchesExplored = branchesExplored;
+        }
+        currentEvent.commit();
+    }
+
+// Reports the finished call to the listener and commits its JFR event.
+    void complete() {
+        simplifyEvent.end();
+        if (simplifyEvent.shouldCommit()) {
+            simplifyEvent.numVariables = numVariables;
+            simplifyEvent.minterms = mintermCount;
+            simplifyEvent.dontCares = dontCareCount;
+            simplifyEvent.primeImplicants = primeImplicantCount;
+            simplifyEvent.essentials = essentialCount;
+            simplifyEvent.coverSize = coverSize;
+            simplifyEvent.status = status == null ? null : status.name();
+            simplifyEvent.commit();
+        }
+        if (listener != null) listener.simplificationCompleted(this);
+    }
+
+    void setFunction(int numVariables, int mintermCount, int dontCareCount) {
+        this.numVariables = numVariables;
+        this.mintermCount = mintermCount;
+        this.dontCareCount = dontCareCount;
+    }
+
+    void setCoverStrategy(CoverStrategy coverStrategy) {
+        this.coverStrategy = coverStrategy;
+    }
+
+    void setPrimeImplicantCount(int primeImplicantCount) {
+        this.primeImplicantCount = primeImplicantCount;
+    }
+
+    void setEssentialCount(int essentialCount) {
+        this.essentialCount = essentialCount;
+    }
+
+    void setChartReduction(ChartReduction chartReduction) {
+        this.chartReduction = chartReduction;
+    }
+
+    void setCoverSize(int coverSize) {
+        this.coverSize = coverSize;
+    }
+
+    void setStatus(SimplificationStatus status) {
+        this.status = status;
+    }
+
+    void recordPetrickFrontier(int size) {
+        maxPetrickFrontier = Math.max(maxPetrickFrontier, size);
+    }
+
+    void addPrunedProducts(long count) {
+        prunedProductCount += count;
+    }
+
+    void addBranchesExplored(long count) {
+        branchesExplored += count;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+// @return the timed stages in the order they ran
+    public List<StageMetrics> getStages() {
+        return Collections.unmodifiableList(stages);
+    }
+
+// @return the total wall time of all stages in nanoseconds
+    public long getTotalNanos() {
+        return stages.stream().mapToLong(StageMetrics::nanos).sum();
+    }
+
+// @return the total bytes allocated by the calling thread in all stages, or -1 if not supported
+    public long getTotalAllocatedBytes() {
+        return stages.stream().anyMatch(s -> s.allocatedBytes() < 0) ? -1
+                : stages.stream().mapToLong(StageMetrics::allocatedBytes).sum();
+    }
+
+    public int getNumVariables() {
+        return numVariables;
+    }
+
+    public int getMintermCount() {
+        return mintermCount;
+    }
+
+    public int getDontCareCount() {
+        return dontCareCount;
+    }
+
+// @return the number of combination rounds
+    public int getRoundCount() {
+        return roundBucketSizes.size();
+    }
+
+// @return the number of input terms of each combination round
+    public List<Integer> getTermsPerRound() {
+        List<Integer> terms = new ArrayList<>();
+        for (int[] sizes : roundBucketSizes) terms.add(Arrays.stream(sizes).sum());
+        return terms;
+    }
+
+// @return the number of term pairs compared (or neighbors looked up) in each combination round
+    public List<Long> getComparisonsPerRound() {
+        return Collections.unmodifiableList(roundComparisons);
+    }
+
+// Returns the bucket sizes of each combination round.
+// Element r holds, for round r + 1, the number of terms with k ones at index k.
+// @return an unmodifiable list with one array per round
+    public List<int[]> getRoundBucketSizes() {
+        List<int[]> copy = new ArrayList<>();
+        for (int[] sizes : roundBucketSizes) copy.add(sizes.clone());
+        return Collections.unmodifiableList(copy);
+    }
+
+    public int getPrimeImplicantCount() {
+        return primeImplicantCount;
+    }
+
+    public int getEssentialCount() {
+        return essentialCount;
+    }
+
+// @return the chart dimensions before and after reduction, or null if the call ended before that step
+    public ChartReduction getChartReduction() {
+        return chartReduction;
+    }
+
+    public int getCoverSize() {
+        return coverSize;
+    }
+
+// @return how the call ended
+    public SimplificationStatus getStatus() {
+        return status;
+    }
+
+// @return the strategy used to cover the cyclic core, or null if the chart reduced to nothing
+    public CoverStrategy getCoverStrategy() {
+        return coverStrategy;
+    }
+
+// @return the largest number of products between multiplication steps of Petrick's Method,
+// or 0 if it did not run
+    public int getMaxPetrickFrontier() {
+        return maxPetrickFrontier;
+    }
+
+// @return the number of products pruned by absorption or by the frontier cap
+    public long getPrunedProductCount() {
+        return prunedProductCount;
+    }
+
+// @return the number of branches explored by the branch-and-bound cover, or 0 if it did not run
+    public long getBranchesExplored() {
+        return branchesExplored;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(numVariables).append(" variables, ").append(mintermCount).append(" minterms, ")
+                .append(primeImplicantCount).append(" primes, ").append(essentialCount).append(" essential, ")
+                .append(coverSize).append(" in cover (").append(status).append("), ")
+                .append(String.format("%.3f ms, %d bytes", getTotalNanos() / 1e6, getTotalAllocatedBytes()));
+        if (chartReduction != null) sb.append("\n  chart: ").append(chartReduction);
+        if (maxPetrickFrontier > 0) {
+            sb.append("\n  petrick frontier: ").append(maxPetrickFrontier).append(" (")
+                    .append(prunedProductCount).append(" pruned)");
+        }
+        if (branchesExplored > 0) sb.append("\n  branches explored: ").append(branchesExplored);
+        for (StageMetrics stage : stages) sb.append("\n  ").append(stage);
+        return sb.toString();
+    }
+}
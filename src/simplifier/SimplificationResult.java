@@ -0,0 +1,17 @@
+package simplifier;
+
+import java.util.List;
+
+// The cover found by a simplification, how the call ended, and the measurements taken while finding it.
+// @param terms the simplified terms; empty if the status is BUDGET_EXCEEDED or CANCELLED
+// @param status whether the cover is minimal, or why there is none
+// @param reason why the status is not OPTIMAL, or null
+// @param metrics the metrics of the call
+public record SimplificationResult(List<Term> terms, SimplificationStatus status, String reason,
+                                   SimplificationMetrics metrics) {
+
+// @return true if the result holds a correct cover (minimal or not)
+    public boolean hasCover() {
+        return status == SimplificationStatus.OPTIMAL || status == SimplificationStatus.NON_OPTIMAL;
+    }
+}
@@ -0,0 +1,425 @@
+package simplifier;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Long-running HTTP/1.1 server that simplifies functions for local clients, so they pay the JVM startup once
+// instead of once per function. It listens on the loopback interface only and handles every request on its
+// own virtual thread.
+// POST /simplify takes one function per line in the text form of FunctionSpec ("4: 1 3 5 7 | 2 6") and
+// answers one line per function: the SOP expression, a tab, and the cubes separated by spaces.
+// A body starting with { or [ is read as JSON instead: an object such as
+// {"variables": 4, "minterms": [1, 3, 5, 7], "dontCares": [2, 6]} (variables and dontCares are optional, and
+// {"spec": "4: 1 3 5 7 | 2 6"} is accepted too), or an array of them. The answer is an object
+// {"sop": "...", "cubes": ["..."]} per function, in an array if the request was one.
+// A function that cannot be parsed or simplified is answered with "error: <message>" or {"error": "..."};
+// the other functions of the request are still simplified.
+// At most maxConcurrent requests are simplified at once. The others wait for a slot; the number waiting is
+// the queue depth, and requests arriving while maxQueued are already waiting are refused with 503. The body
+// is read only once the request holds a slot, and a Content-Length over the limit is refused with 413 first.
+// A request must be answered within requestTimeLimit of getting its slot. Each function runs on its own
+// virtual thread; one still running at the deadline is interrupted, and it and the functions after it are
+// answered with an error. Not every stage checks for interruption, so the request keeps its slot until that
+// thread has actually stopped, and abandoned work still counts against maxConcurrent.
+// GET /metrics reports the counters as "<name> <value>" lines.
+// The simplifier is shared by all requests and must be thread-safe. Scratch tables pooled per thread (see
+// SimplificationContext) are reused within a request but not across requests, since each has a new thread.
+public class SimplificationServer implements AutoCloseable {
+
+    // Largest request body accepted, in bytes
+    private static final int MAX_BODY_BYTES = 16 << 20;
+
+    private final Simplifier simplifier;
+    private final Semaphore slots;
+    private volatile int maxQueued = 1024;
+    private volatile Duration requestTimeLimit = Duration.ofSeconds(60);
+    private HttpServer server;
+    private ExecutorService executor;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger peakQueued = new AtomicInteger();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong functions = new AtomicLong();
+    private final AtomicLong failedFunctions = new AtomicLong();
+
+// Creates a server; it does not listen until start() is called.
+// @param simplifier the thread-safe simplifier shared by all requests
+// @param maxConcurrent the largest number of requests simplified at once
+    public SimplificationServer(Simplifier simplifier, int maxConcurrent) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("Concurrency limit must be at least 1: " + maxConcurrent);
+        }
+        this.simplifier = Objects.requireNonNull(simplifier);
+        this.slots = new Semaphore(maxConcurrent, true);
+    }
+
+// @return the largest number of requests that may wait for a slot
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+// Limits the number of requests waiting for a slot; further requests are refused with 503.
+// @param maxQueued the limit (1024 by default); 0 refuses every request that finds no free slot
+    public void setMaxQueued(int maxQueued) {
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException("Queue limit must not be negative: " + maxQueued);
+        }
+        this.maxQueued = maxQueued;
+    }
+
+// @return the longest a request may spend being simplified
+    public Duration getRequestTimeLimit() {
+        return requestTimeLimit;
+    }
+
+// Limits the time of a request, counted from when it gets its slot.
+// @param requestTimeLimit the time limit (60 seconds by default)
+    public void setRequestTimeLimit(Duration requestTimeLimit) {
+        if (requestTimeLimit.isNegative() || requestTimeLimit.isZero()) {
+            throw new IllegalArgumentException("Time limit must be positive: " + requestTimeLimit);
+        }
+        this.requestTimeLimit = requestTimeLimit;
+    }
+
+// Starts listening on the loopback interface.
+// @param port the port, or 0 for any free port
+// @return the port the server listens on
+// @throws IOException if the port cannot be bound
+    public synchronized int start(int port) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("The server is already running");
+        }
+        HttpServer http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        http.setExecutor(executor);
+        http.createContext("/simplify", this::handleSimplify);
+        http.createContext("/metrics", this::handleMetrics);
+        http.start();
+        server = http;
+        return http.getAddress().getPort();
+    }
+
+// Stops listening and abandons the requests still running.
+    @Override
+    public synchronized void close() {
+        if (server == null) return;
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+    }
+
+// @return the number of requests being simplified
+    public int getActiveRequests() {
+        return active.get();
+    }
+
+// @return the number of requests waiting for a slot
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+// @return the counters reported by GET /metrics, one "<name> <value>" line each
+    public String metrics() {
+        return "active_requests " + active.get() + "\n"
+                + "queued_requests " + queued.get() + "\n"
+                + "peak_queued_requests " + peakQueued.get() + "\n"
+                + "requests " + requests.get() + "\n"
+                + "rejected_requests " + rejected.get() + "\n"
+                + "functions " + functions.get() + "\n"
+                + "failed_functions " + failedFunctions.get() + "\n";
+    }
+
+    private void handleSimplify(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                send(exchange, 405, "text/plain", "Use POST\n");
+                return;
+            }
+            requests.incrementAndGet();
+            if (contentLength(exchange) > MAX_BODY_BYTES) {
+                send(exchange, 413, "text/plain", "The request body exceeds " + MAX_BODY_BYTES + " bytes\n");
+                return;
+            }
+            if (!acquireSlot()) {
+                rejected.incrementAndGet();
+                send(exchange, 503, "text/plain", "Too many requests are waiting\n");
+                return;
+            }
+            Slot slot = new Slot();
+            try {
+                long deadline = System.nanoTime() + requestTimeLimit.toNanos();
+                String body = readBody(exchange.getRequestBody());
+                if (body == null) {
+                    send(exchange, 413, "text/plain", "The request body exceeds " + MAX_BODY_BYTES + " bytes\n");
+                    return;
+                }
+                String trimmed = body.stripLeading();
+                if (trimmed.startsWith("{") || trimmed.startsWith("[")) {
+                    respondJson(exchange, body, slot, deadline);
+                } else {
+                    send(exchange, 200, "text/plain", simplifyLines(body, slot, deadline));
+                }
+            } finally {
+                slot.release();
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                send(exchange, 405, "text/plain", "Use GET\n");
+                return;
+            }
+            send(exchange, 200, "text/plain", metrics());
+        } finally {
+            exchange.close();
+        }
+    }
+
+// Takes a slot, waiting in the queue if none is free.
+// @return false if the queue is full or the thread was interrupted while waiting
+    private boolean acquireSlot() {
+        if (!slots.tryAcquire()) {
+            int depth = queued.incrementAndGet();
+            try {
+                if (depth > maxQueued) return false;
+                peakQueued.accumulateAndGet(depth, Math::max);
+                slots.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                queued.decrementAndGet();
+            }
+        }
+        active.incrementAndGet();
+        return true;
+    }
+
+// The slot of one request, held by its handler and by every simplification thread it started.
+// The permit is returned when the last holder lets go, so a thread that outlives its request keeps the slot.
+    private final class Slot {
+        private final AtomicInteger holders = new AtomicInteger(1);
+
+        void retain() {
+            holders.incrementAndGet();
+        }
+
+        void release() {
+            if (holders.decrementAndGet() == 0) {
+                active.decrementAndGet();
+                slots.release();
+            }
+        }
+    }
+
+// Simplifies a text body, one function per line; blank lines are skipped.
+// @param deadline the System.nanoTime() by which the request must be answered
+    private String simplifyLines(String body, Slot slot, long deadline) {
+        StringBuilder response = new StringBuilder();
+        for (String line : body.split("\r?\n")) {
+            if (line.isBlank()) continue;
+            functions.incrementAndGet();
+            try {
+                List<Term> terms = simplify(FunctionSpec.parse(line), slot, deadline);
+                response.append(ExpressionBuilder.buildSOP(terms)).append('\t')
+                        .append(ExpressionBuilder.buildCubes(terms));
+            } catch (RuntimeException e) {
+                failedFunctions.incrementAndGet();
+                response.append("error: ").append(e.getMessage());
+            }
+            response.append('\n');
+        }
+        return response.toString();
+    }
+
+    private void respondJson(HttpExchange exchange, String body, Slot slot, long deadline) throws IOException {
+        Object request;
+        try {
+            request = JsonReader.parse(body);
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, "application/json", "{\"error\":" + quote(e.getMessage()) + "}\n");
+            return;
+        }
+
+        StringBuilder response = new StringBuilder();
+        if (request instanceof List<?> list) {
+            response.append('[');
+            for (int i = 0; i < list.size(); i++) {
+                if (i > 0) response.append(',');
+                appendResult(response, list.get(i), slot, deadline);
+            }
+            response.append(']');
+        } else {
+            appendResult(response, request, slot, deadline);
+        }
+        send(exchange, 200, "application/json", response.append('\n').toString());
+    }
+
+// Simplifies one JSON function and appends its result object.
+    private void appendResult(StringBuilder response, Object value, Slot slot, long deadline) {
+        functions.incrementAndGet();
+        List<Term> terms;
+        try {
+            terms = simplify(toFunction(value), slot, deadline);
+        } catch (RuntimeException e) {
+            failedFunctions.incrementAndGet();
+            response.append("{\"error\":").append(quote(String.valueOf(e.getMessage()))).append('}');
+            return;
+        }
+        response.append("{\"sop\":").append(quote(ExpressionBuilder.buildSOP(terms))).append(",\"cubes\":[");
+        for (int i = 0; i < terms.size(); i++) {
+            if (i > 0) response.append(',');
+            response.append(quote(terms.get(i).getBinary()));
+        }
+        response.append("]}");
+    }
+
+// Simplifies one function on a virtual thread of its own, waiting for it until the deadline at most.
+// The thread holds the request's slot until it ends, even if it is interrupted after the deadline.
+// @param slot the slot of the request
+// @param deadline the System.nanoTime() by which the request must be answered
+// @throws CancellationException if the deadline passes first; the simplification is interrupted
+    private List<Term> simplify(FunctionSpec function, Slot slot, long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) throw timeLimitExceeded();
+        FutureTask<List<Term>> result = new FutureTask<>(() -> simplifier.simplify(function));
+        slot.retain();
+        try {
+            // run() returns at once if the task was cancelled before it started, so the slot is always released
+            executor.execute(() -> {
+                try {
+                    result.run();
+                } finally {
+                    slot.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            slot.release();
+            throw e;
+        }
+        try {
+            return result.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw timeLimitExceeded();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("The request was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error error) throw error;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private CancellationException timeLimitExceeded() {
+        return new CancellationException("Request time limit of " + requestTimeLimit.toMillis() + " ms exceeded");
+    }
+
+// Converts a JSON function object to a FunctionSpec.
+// @throws IllegalArgumentException if a field is missing or has the wrong type
+    private static FunctionSpec toFunction(Object value) {
+        if (!(value instanceof Map<?, ?> object)) {
+            throw new IllegalArgumentException("A function must be a JSON object");
+        }
+        if (object.containsKey("spec")) {
+            if (object.get("spec") instanceof String spec) return FunctionSpec.parse(spec);
+            throw new IllegalArgumentException("spec must be a string");
+        }
+        if (!object.containsKey("minterms")) {
+            throw new IllegalArgumentException("A function needs minterms or spec");
+        }
+        List<Integer> minterms = toNumbers(object.get("minterms"), "minterms");
+        List<Integer> dontCares = object.containsKey("dontCares")
+                ? toNumbers(object.get("dontCares"), "dontCares") : List.of();
+        Object variables = object.get("variables");
+        if (variables == null) return new FunctionSpec(minterms, dontCares);
+        if (!(variables instanceof Long count) || count < 1 || count > FunctionSpec.MAX_VARIABLES) {
+            throw new IllegalArgumentException(
+                    "variables must be an integer between 1 and " + FunctionSpec.MAX_VARIABLES);
+        }
+        return new FunctionSpec(count.intValue(), minterms, dontCares);
+    }
+
+    private static List<Integer> toNumbers(Object value, String field) {
+        if (!(value instanceof List<?> list)) {
+            throw new IllegalArgumentException(field + " must be an array of integers");
+        }
+        List<Integer> numbers = new ArrayList<>(list.size());
+        for (Object element : list) {
+            if (!(element instanceof Long number) || number < 0 || number > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(field + " must hold integers between 0 and " + Integer.MAX_VALUE);
+            }
+            numbers.add(number.intValue());
+        }
+        return numbers;
+    }
+
+// @return the declared body length, or -1 if there is no valid Content-Length header (e.g. a chunked body)
+    private static long contentLength(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (header == null) return -1;
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+// @return the body as UTF-8 text, or null if it exceeds MAX_BODY_BYTES
+    private static String readBody(InputStream in) throws IOException {
+        byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+        return bytes.length > MAX_BODY_BYTES ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void send(HttpExchange exchange, int status, String type, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", type + "; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+// Quotes a string as a JSON string literal.
+    private static String quote(String text) {
+        StringBuilder quoted = new StringBuilder(text.length() + 2).append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
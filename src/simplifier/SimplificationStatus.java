@@ -0,0 +1,18 @@
+package simplifier;
+
+// How a simplification ended.
+public enum SimplificationStatus {
+
+    // The cover is a minimum cover.
+    OPTIMAL,
+
+    // The cover is correct but may have more terms than necessary, e.g. because the covering step ran out
+    // of budget and kept the best cover found so far, or because the Petrick frontier was capped.
+    NON_OPTIMAL,
+
+    // The budget ran out before prime implicant generation finished; no cover is returned.
+    BUDGET_EXCEEDED,
+
+    // The calling thread was interrupted; no cover is returned and the interrupt status is kept.
+    CANCELLED
+}
@@ -9,5 +9,47 @@ public interface Simplifier {
 // Simplifies a Boolean function based on a list of minterms.
 // @param minterms a list of minterms (as integers)
 // @return a list of simplified terms representing the minimized function
-    List<Term> simplify(List<Integer> minterms);
+    default List<Term> simplify(List<Integer> minterms) {
+        return simplify(minterms, List.of());
+    }
+
+// Simplifies an incompletely specified Boolean function.
+// Don't-cares may be used to build larger terms, but the result is not required to cover them.
+// The number of variables is derived from the largest minterm or don't-care.
+// @param minterms a list of minterms (as integers)
+// @param dontCares a list of don't-care input combinations (as integers)
+// @return a list of simplified terms representing the minimized function
+    default List<Term> simplify(List<Integer> minterms, List<Integer> dontCares) {
+        return simplify(FunctionSpec.variableCount(minterms, dontCares), minterms, dontCares);
+    }
+
+// Simplifies a function given as a FunctionSpec.
+// @param function the function to simplify
+// @return a list of simplified terms representing the minimized function
+    default List<Term> simplify(FunctionSpec function) {
+        return simplify(function.getNumVariables(), function.getMinterms(), function.getDontCares());
+    }
+
+// Simplifies an incompletely specified Boolean function of a fixed number of variables.
+// Every returned term has exactly numVariables bits.
+// @param numVariables the number of variables (1 to 64)
+// @param minterms a list of minterms, each below 2^numVariables
+// @param dontCares a list of don't-care input combinations, each below 2^numVariables
+// @return a list of simplified terms representing the minimized function
+// @throws IllegalArgumentException if the variable count or any minterm is out of range
+    List<Term> simplify(int numVariables, List<Integer> minterms, List<Integer> dontCares);
+
+// Simplifies a function given as packed truth tables (see TruthTable).
+// An input combination set in both tables counts as a minterm.
+// This default converts the tables to minterm lists; simplifiers that can read the bits directly override it.
+// @param numVariables the number of variables (1 to TruthTable.MAX_VARIABLES)
+// @param onSet the truth table of the minterms
+// @param dontCares the truth table of the don't-cares
+// @return a list of simplified terms representing the minimized function
+// @throws IllegalArgumentException if the variable count or a table length is out of range
+    default List<Term> simplifyTruthTable(int numVariables, long[] onSet, long[] dontCares) {
+        TruthTable.validate(numVariables, onSet, "on-set");
+        TruthTable.validate(numVariables, dontCares, "don't-care");
+        return simplify(numVariables, TruthTable.toList(onSet), TruthTable.toList(dontCares));
+    }
 }
@@ -3,106 +3,199 @@ package simplifier;
 import java.util.*;
 
 // Represents a single logic term (e.g., "1-0") used in Quine–McCluskey simplification.
-// Each term tracks its binary representation, a set of minterms it covers, and whether it has been used in combinations.
+// The cube is stored bit-packed as a (value, care mask) pair of longs: bit i of the care mask is set when
+// variable i is fixed, and the same bit of value holds its level. Variable A is the most significant bit.
+// The '-' string form is only built on demand for output.
+// The minterms a term covers are not stored: they are exactly the numbers that match value on the care mask,
+// so membership is a single mask test and the full set is enumerated only on request.
+// Terms are immutable, so covers can be cached and shared between callers.
 public class Term {
-    private final String binary;            // Binary representation (with '-', e.g., "1-0")
-    private final Set<Integer> minterms;    // Set of minterms covered by this term
-    private boolean used;                   // Whether this term was used in combination
+    private final long value;               // Levels of the fixed bits (don't-care bits are always 0)
+    private final long careMask;            // 1 for fixed bits, 0 for '-' bits
+    private final int width;                // Number of variables
+    private String binary;                  // Lazily built binary representation (with '-', e.g., "1-0")
 
 // Constructor for a Term object.
 // @param binary the binary string (e.g., "01-", "1-1")
-// @param minterms the set of decimal minterms this term represents
-    public Term(String binary, Set<Integer> minterms) {
+    public Term(String binary) {
+        this(parseValue(binary), parseCareMask(binary), binary.length());
         this.binary = binary;
-        this.minterms = new TreeSet<>(minterms);
-        this.used = false;
+    }
+
+// Constructor for a bit-packed Term object.
+// @param value the levels of the fixed bits
+// @param careMask the mask of fixed bits (0 bits are don't-cares)
+// @param width the number of variables (1 to 64)
+    public Term(long value, long careMask, int width) {
+        if (width < 1 || width > 64) {
+            throw new IllegalArgumentException("Term width must be between 1 and 64: " + width);
+        }
+        this.width = width;
+        this.careMask = careMask & fullMask(width);
+        this.value = value & this.careMask;
+    }
+
+// Constructor for a Term covering a single minterm.
+// @param minterm the minterm
+// @param width the number of variables (1 to 64)
+    public static Term ofMinterm(long minterm, int width) {
+        return new Term(minterm, fullMask(width), width);
+    }
+
+// Returns a care mask with the lowest width bits set.
+    public static long fullMask(int width) {
+        return width >= 64 ? -1L : (1L << width) - 1;
+    }
+
+    public long getValue() {
+        return value;
+    }
+
+    public long getCareMask() {
+        return careMask;
+    }
+
+    public int getWidth() {
+        return width;
     }
 
     public String getBinary() {
+        if (binary == null) {
+            char[] chars = new char[width];
+            for (int i = 0; i < width; i++) {
+                long bit = 1L << (width - 1 - i);
+                if ((careMask & bit) == 0) {
+                    chars[i] = '-';
+                } else {
+                    chars[i] = (value & bit) != 0 ? '1' : '0';
+                }
+            }
+            binary = new String(chars);
+        }
         return binary;
     }
 
-    public Set<Integer> getMinterms() {
-        return minterms;
+// Checks whether this term covers a minterm.
+// @param minterm the minterm to test
+// @return true if the minterm matches every fixed bit of this term
+    public boolean covers(long minterm) {
+        return (minterm & ~fullMask(width)) == 0 && (minterm & careMask) == value;
+    }
+
+// Checks whether every minterm of another term of the same width is also covered by this term.
+// @param other the term to test
+// @return true if this term fixes a subset of the other's bits, at the same levels
+    public boolean contains(Term other) {
+        return (careMask & ~other.careMask) == 0 && (other.value & careMask) == value;
+    }
+
+// Checks whether this term and another term of the same width cover a common minterm.
+// @param other the term to test
+// @return true unless some bit is fixed in both terms at different levels
+    public boolean intersects(Term other) {
+        return ((value ^ other.value) & careMask & other.careMask) == 0;
+    }
+
+// @return the number of minterms covered by this term (saturates at Long.MAX_VALUE for 64 free bits)
+    public long getMintermCount() {
+        int free = width - Long.bitCount(careMask);
+        return free >= 63 ? Long.MAX_VALUE : 1L << free;
     }
 
-    public boolean isUsed() {
-        return used;
+// @return true if every covered minterm fits in an int, i.e. no bit above bit 30 is set or free
+    public boolean hasIntMinterms() {
+        long free = ~careMask & fullMask(width);
+        return ((value | free) >>> 31) == 0;
     }
 
-    public void setUsed(boolean used) {
-        this.used = used;
+// Enumerates the minterms covered by this term.
+// The set is built on every call, so prefer covers() for membership tests.
+// @return the covered minterms in ascending order
+// @throws IllegalStateException if a covered minterm does not fit in an int (see hasIntMinterms())
+    public Set<Integer> getMinterms() {
+        if (!hasIntMinterms()) {
+            throw new IllegalStateException("Cube " + getBinary() + " covers minterms above " + Integer.MAX_VALUE);
+        }
+        Set<Integer> minterms = new TreeSet<>();
+        long free = ~careMask & fullMask(width);
+
+        // Walk all subsets of the free bits
+        long subset = 0;
+        do {
+            minterms.add((int) (value | subset));
+            subset = (subset - free) & free;
+        } while (subset != 0);
+        return minterms;
     }
 
 // Determines if this term can be combined with another term.
-// Two terms can be combined if they differ by exactly one bit (ignoring '-').
+// Two terms can be combined if they have '-' in the same places and differ by exactly one fixed bit.
 // @param other the term to compare with
 // @return true if they can be combined
     public boolean canCombineWith(Term other) {
-        int diff = 0;
-        for (int i = 0; i < binary.length(); i++) {
-            char a = binary.charAt(i);
-            char b = other.binary.charAt(i);
-            if (a != b) {
-                if (a != '-' && b != '-') {
-                    diff++;
-                } else {
-                    return false;
-                }
-            }
-        }
-        return diff == 1;
+        return careMask == other.careMask && Long.bitCount(value ^ other.value) == 1;
     }
 
 // Combines this term with another term into a new one with a '-' at the differing bit.
 // @param other the term to combine with
 // @return a new combined Term
     public Term combineWith(Term other) {
-        StringBuilder combined = new StringBuilder();
-        for (int i = 0; i < binary.length(); i++) {
-            char a = binary.charAt(i);
-            char b = other.binary.charAt(i);
-            if (a == b) {
-                combined.append(a);
-            } else {
-                combined.append('-');
-            }
-        }
-        Set<Integer> newMinterms = new TreeSet<>(minterms);
-        newMinterms.addAll(other.getMinterms());
-        return new Term(combined.toString(), newMinterms);
+        long diff = value ^ other.value;
+        return new Term(value & ~diff, careMask & ~diff, width);
     }
 
 // Converts this binary term to a readable logic expression (e.g., A'B or AB'C).
-// A = bit 0, B = bit 1, C = bit 2, etc.
+// A = bit 0, B = bit 1, C = bit 2, etc.; variables after Z are named x26, x27, ...
 // @return a string representing the term as a logic expression
     public String toExpression() {
         StringBuilder expr = new StringBuilder();
-        char var = 'A';
-        for (int i = 0; i < binary.length(); i++) {
-            char c = binary.charAt(i);
-            if (c == '-') continue;
-            expr.append((char) (var + i));
-            if (c == '0') expr.append("'");
+        for (int i = 0; i < width; i++) {
+            long bit = 1L << (width - 1 - i);
+            if ((careMask & bit) == 0) continue;
+            expr.append(variableName(i));
+            if ((value & bit) == 0) expr.append("'");
         }
         return expr.toString();
     }
 
+// Returns the name of the variable at a bit position (0 is the most significant bit).
+    public static String variableName(int index) {
+        return index < 26 ? String.valueOf((char) ('A' + index)) : "x" + index;
+    }
+
+// Parses the fixed bit levels of a '-' string.
+    private static long parseValue(String binary) {
+        long result = 0;
+        for (int i = 0; i < binary.length(); i++) {
+            result = (result << 1) | (binary.charAt(i) == '1' ? 1 : 0);
+        }
+        return result;
+    }
+
+// Parses the care mask of a '-' string.
+    private static long parseCareMask(String binary) {
+        long result = 0;
+        for (int i = 0; i < binary.length(); i++) {
+            result = (result << 1) | (binary.charAt(i) == '-' ? 0 : 1);
+        }
+        return result;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (obj instanceof Term term) {
-            return this.binary.equals(term.binary);
+            return this.value == term.value && this.careMask == term.careMask && this.width == term.width;
         }
         return false;
     }
 
     @Override
     public int hashCode() {
-        return binary.hashCode();
+        return 31 * (31 * Long.hashCode(value) + Long.hashCode(careMask)) + width;
     }
 
     @Override
     public String toString() {
-        return binary + " -> " + minterms;
+        return getMintermCount() <= 64 && hasIntMinterms() ? getBinary() + " -> " + getMinterms() : getBinary();
     }
 }
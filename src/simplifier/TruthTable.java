@@ -0,0 +1,114 @@
+package simplifier;
+
+import java.util.*;
+
+// Helpers for functions given as packed truth tables: bit x of the table (bit x % 64 of long x / 64) is set
+// when input combination x belongs to the set, so a dense function takes 2^n bits instead of a boxed
+// Integer per minterm. Functions of fewer than 6 variables use the low 2^n bits of a single long.
+public final class TruthTable {
+
+    // Largest number of variables of a truth table (2^30 bits, 128 MiB)
+    public static final int MAX_VARIABLES = 30;
+
+    // For variables 0 to 5, the bits of a long whose input combination has that variable at 0
+    private static final long[] LOW_HALF = {
+            0x5555555555555555L, 0x3333333333333333L, 0x0F0F0F0F0F0F0F0FL,
+            0x00FF00FF00FF00FFL, 0x0000FFFF0000FFFFL, 0x00000000FFFFFFFFL
+    };
+
+    private TruthTable() {
+    }
+
+// @return the number of longs in a truth table of the given number of variables
+    public static int length(int numVariables) {
+        return numVariables <= 6 ? 1 : 1 << (numVariables - 6);
+    }
+
+// @return the bits of each long that stand for an input combination
+    static long validBits(int numVariables) {
+        return Term.fullMask(1 << Math.min(numVariables, 6));
+    }
+
+// Builds a truth table from a list of input combinations.
+// @param numVariables the number of variables (1 to MAX_VARIABLES)
+// @param numbers the input combinations whose bits are set, each below 2^numVariables
+// @return the truth table
+    public static long[] of(int numVariables, Collection<Integer> numbers) {
+        long[] table = new long[length(numVariables)];
+        for (int x : numbers) table[x >>> 6] |= 1L << x;
+        return table;
+    }
+
+// Lists the input combinations whose bits are set in a truth table.
+// @return the input combinations in ascending order
+    public static List<Integer> toList(long[] table) {
+        List<Integer> numbers = new ArrayList<>();
+        for (int w = 0; w < table.length; w++) {
+            for (long bits = table[w]; bits != 0; bits &= bits - 1) {
+                numbers.add(w << 6 | Long.numberOfTrailingZeros(bits));
+            }
+        }
+        return numbers;
+    }
+
+// Lists the input combinations whose bits are set in a truth table, without boxing.
+// @return the input combinations in ascending order
+    public static int[] toArray(long[] table) {
+        int[] numbers = new int[count(table)];
+        int k = 0;
+        for (int w = 0; w < table.length; w++) {
+            for (long bits = table[w]; bits != 0; bits &= bits - 1) {
+                numbers[k++] = w << 6 | Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return numbers;
+    }
+
+// @return the number of set bits of a truth table
+    public static int count(long[] table) {
+        int count = 0;
+        for (long word : table) count += Long.bitCount(word);
+        return count;
+    }
+
+// Checks that a truth table fits the number of variables.
+// @param numVariables the number of variables (1 to MAX_VARIABLES)
+// @param table the truth table
+// @param kind what the table holds, for the error message
+// @throws IllegalArgumentException if the variable count or the table length is out of range,
+//         or a bit beyond 2^numVariables is set
+    public static void validate(int numVariables, long[] table, String kind) {
+        if (numVariables < 1 || numVariables > MAX_VARIABLES) {
+            throw new IllegalArgumentException("Truth tables support 1 to " + MAX_VARIABLES + " variables: " + numVariables);
+        }
+        if (table.length != length(numVariables)) {
+            throw new IllegalArgumentException("The " + kind + " table of " + numVariables + " variables needs "
+                    + length(numVariables) + " longs, not " + table.length);
+        }
+        if ((table[0] & ~validBits(numVariables)) != 0) {
+            throw new IllegalArgumentException("The " + kind + " table has bits beyond " + numVariables + " variables");
+        }
+    }
+
+// Counts the pairs of set bits whose input combinations differ in one variable.
+// @param numVariables the number of variables
+// @param table the truth table
+// @return the number of adjacent pairs
+    public static long adjacentPairs(int numVariables, long[] table) {
+        long pairs = 0;
+        for (int i = 0; i < numVariables; i++) {
+            if (i < 6) {
+                // Both combinations are in the same long, 2^i bits apart
+                int shift = 1 << i;
+                for (long word : table) pairs += Long.bitCount(word & (word >>> shift) & LOW_HALF[i]);
+            } else {
+                // The combinations are in longs 2^(i - 6) apart
+                int stride = 1 << (i - 6);
+                for (int w = 0; w < table.length; w++) {
+                    if ((w & stride) == 0) pairs += Long.bitCount(table[w] & table[w | stride]);
+                }
+            }
+        }
+        return pairs;
+    }
+}